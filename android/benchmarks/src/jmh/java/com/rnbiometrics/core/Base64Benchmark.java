@@ -0,0 +1,44 @@
+package com.rnbiometrics.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of TYPE_BASE64 payloads, with java.util.Base64 as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class Base64Benchmark {
+
+    @Param({"64", "4096", "1048576"})
+    public int payloadSize;
+
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        byte[] bytes = new byte[payloadSize];
+        new Random(1).nextBytes(bytes);
+        payload = Base64Codec.encode(bytes);
+    }
+
+    @Benchmark
+    public byte[] decodePayload() {
+        return Payloads.decode(payload, Payloads.TYPE_BASE64);
+    }
+
+    @Benchmark
+    public byte[] decodeJavaUtil() {
+        return java.util.Base64.getDecoder().decode(payload);
+    }
+}
@@ -0,0 +1,96 @@
+package com.rnbiometrics.core;
+
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.DERBitString;
+import org.bouncycastle.asn1.DERSet;
+import org.bouncycastle.asn1.DERUTF8String;
+import org.bouncycastle.asn1.pkcs.CertificationRequestInfo;
+import org.bouncycastle.asn1.x500.RDN;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.operator.DefaultSignatureAlgorithmIdentifierFinder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DER encoding of a PKCS#10 request, {@link CertificationRequest} against BouncyCastle's ASN.1
+ * encoder. The signature is computed once in setup, so only encoding is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CertificationRequestBenchmark {
+
+    @Param({"RSA-4096", "EC"})
+    public String key;
+
+    private String keyAlgorithm;
+    private byte[] publicKey;
+    private byte[] signature;
+    private AlgorithmIdentifier signatureAlgorithm;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator;
+        if ("EC".equals(key)) {
+            generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec(SigningKeySpec.EC_CURVE));
+        } else {
+            generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(Integer.parseInt(key.substring("RSA-".length())));
+        }
+        KeyPair keyPair = generator.generateKeyPair();
+        keyAlgorithm = keyPair.getPublic().getAlgorithm();
+        publicKey = keyPair.getPublic().getEncoded();
+
+        String algorithm = SignatureAlgorithms.forKey(keyPair.getPrivate());
+        Signature signer = Signature.getInstance(algorithm);
+        signer.initSign(keyPair.getPrivate());
+        signer.update(encodeInfo());
+        signature = signer.sign();
+        signatureAlgorithm = new DefaultSignatureAlgorithmIdentifierFinder().find(algorithm);
+    }
+
+    @Benchmark
+    public byte[] encodeWithDerWriter() {
+        return CertificationRequest.encode(encodeInfo(), keyAlgorithm, signature);
+    }
+
+    private byte[] encodeInfo() {
+        return new CertificationRequest("device.example.com")
+                .setCountry("VN")
+                .setOrganization("Example")
+                .setOrganizationalUnit("Mobile")
+                .setState("Ha Noi")
+                .setLocality("Ha Noi")
+                .encodeInfo(publicKey);
+    }
+
+    @Benchmark
+    public byte[] encodeWithBouncyCastle() throws Exception {
+        X500Name subject = new X500Name(new RDN[]{
+                new RDN(BCStyle.C, new DERUTF8String("VN")),
+                new RDN(BCStyle.O, new DERUTF8String("Example")),
+                new RDN(BCStyle.OU, new DERUTF8String("Mobile")),
+                new RDN(BCStyle.CN, new DERUTF8String("device.example.com")),
+                new RDN(BCStyle.ST, new DERUTF8String("Ha Noi")),
+                new RDN(BCStyle.L, new DERUTF8String("Ha Noi"))});
+        CertificationRequestInfo info = new CertificationRequestInfo(subject, SubjectPublicKeyInfo.getInstance(publicKey), new DERSet());
+        return new org.bouncycastle.asn1.pkcs.CertificationRequest(info, signatureAlgorithm, new DERBitString(signature))
+                .getEncoded(ASN1Encoding.DER);
+    }
+}
@@ -0,0 +1,38 @@
+package com.rnbiometrics.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Key pair generation per key type. RSA-4096 takes hundreds of milliseconds per key, so this
+ * reports average time rather than throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class KeyGenerationBenchmark {
+
+    @Param({"RSA-2048", "RSA-4096", "EC"})
+    public String key;
+
+    private final Signer signer = new Signer(new SoftwareKeyBackend());
+
+    @Benchmark
+    public String generate() throws Exception {
+        return signer.createKey(key, specOf(key));
+    }
+
+    static SigningKeySpec specOf(String key) {
+        if ("EC".equals(key)) {
+            return SigningKeySpec.of(SigningKeySpec.KEY_TYPE_EC, 0, 0);
+        }
+        return SigningKeySpec.of(SigningKeySpec.KEY_TYPE_RSA, Integer.parseInt(key.substring("RSA-".length())), 0);
+    }
+}
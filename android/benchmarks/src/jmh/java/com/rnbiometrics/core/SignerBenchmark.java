@@ -0,0 +1,47 @@
+package com.rnbiometrics.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing throughput and public-key export per key type, on software keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SignerBenchmark {
+
+    @Param({"RSA-2048", "RSA-4096", "EC"})
+    public String key;
+
+    @Param({"64", "4096"})
+    public int payloadSize;
+
+    private Signer signer;
+    private String payload;
+
+    @Setup
+    public void setUp() throws Exception {
+        signer = new Signer(new SoftwareKeyBackend());
+        signer.createKey(key, KeyGenerationBenchmark.specOf(key));
+        payload = Base64Codec.encode(new byte[payloadSize]);
+    }
+
+    @Benchmark
+    public String sign() throws Exception {
+        return signer.sign(key, payload, Payloads.TYPE_BASE64);
+    }
+
+    @Benchmark
+    public String exportPublicKey() throws Exception {
+        return signer.getPublicKey(key);
+    }
+}
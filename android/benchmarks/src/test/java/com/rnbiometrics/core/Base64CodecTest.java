@@ -0,0 +1,53 @@
+package com.rnbiometrics.core;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class Base64CodecTest {
+
+    @Test
+    public void roundTripsAllLengths() {
+        Random random = new Random(1);
+        for (int length = 0; length < 100; length++) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            String encoded = Base64Codec.encode(bytes);
+            assertEquals(javaEncode(bytes), encoded);
+            assertArrayEquals(bytes, Base64Codec.decode(encoded));
+        }
+    }
+
+    @Test
+    public void skipsCharactersOutsideTheAlphabet() {
+        assertArrayEquals("ABCDEF".getBytes(), Base64Codec.decode("QUJD\nREVG\r\n"));
+        assertArrayEquals("A".getBytes(), Base64Codec.decode("QQ= =\n"));
+    }
+
+    @Test
+    public void acceptsMissingPadding() {
+        assertArrayEquals("A".getBytes(), Base64Codec.decode("QQ"));
+        assertArrayEquals("AB".getBytes(), Base64Codec.decode("QUI"));
+    }
+
+    @Test
+    public void rejectsMalformedInput() {
+        String[] inputs = {"Q", "QUJDQ", "QQ=", "=QQ", "Q=Q=", "QUI==", "QQ===", "QQ==QUJD", "QUI=A"};
+        for (String input : inputs) {
+            try {
+                Base64Codec.decode(input);
+                fail("Accepted " + input);
+            } catch (IllegalArgumentException e) {
+                // Expected.
+            }
+        }
+    }
+
+    private static String javaEncode(byte[] bytes) {
+        return java.util.Base64.getEncoder().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,93 @@
+package com.rnbiometrics.core;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.operator.jcajce.JcaContentVerifierProviderBuilder;
+import org.bouncycastle.pkcs.PKCS10CertificationRequest;
+import org.junit.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CertificationRequestTest {
+
+    // SEQUENCE { OID 1.2.840.113549.1.1.11, NULL }
+    private static final byte[] SHA256_WITH_RSA = {
+            0x30, 0x0d, 0x06, 0x09, 0x2a, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xf7, 0x0d, 0x01, 0x01, 0x0b, 0x05, 0x00};
+    // SEQUENCE { OID 1.2.840.10045.4.3.2 }
+    private static final byte[] ECDSA_WITH_SHA256 = {
+            0x30, 0x0a, 0x06, 0x08, 0x2a, (byte) 0x86, 0x48, (byte) 0xce, 0x3d, 0x04, 0x03, 0x02};
+
+    @Test
+    public void encodesRsaRequest() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        PKCS10CertificationRequest request = createRequest(generator.generateKeyPair(), "RSA");
+        assertArrayEquals(SHA256_WITH_RSA, request.getSignatureAlgorithm().getEncoded());
+    }
+
+    @Test
+    public void encodesEcRequest() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(SigningKeySpec.EC_CURVE));
+        PKCS10CertificationRequest request = createRequest(generator.generateKeyPair(), "EC");
+        assertArrayEquals(ECDSA_WITH_SHA256, request.getSignatureAlgorithm().getEncoded());
+    }
+
+    @Test
+    public void writesSubjectInIosOrder() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec(SigningKeySpec.EC_CURVE));
+        PKCS10CertificationRequest request = createRequest(generator.generateKeyPair(), "EC");
+        assertEquals(new X500Name("C=VN,O=Org,OU=Unit,CN=Tên,ST=State,L=City"), request.getSubject());
+    }
+
+    @Test
+    public void wrapsPemBodyAt64Characters() {
+        byte[] request = new byte[100];
+        String body = CertificationRequest.toPemBody(request);
+        String[] lines = body.split("\r\n", -1);
+        assertEquals(3, lines.length);
+        assertEquals(64, lines[0].length());
+        assertEquals(64, lines[1].length());
+        assertEquals(Base64Codec.encode(request), lines[0] + lines[1] + lines[2]);
+    }
+
+    @Test
+    public void endsPemBodyWithoutLineBreak() {
+        // 48 bytes encode to exactly one 64 character line.
+        assertEquals(Base64Codec.encode(new byte[48]), CertificationRequest.toPemBody(new byte[48]));
+        assertEquals(64, CertificationRequest.toPemBody(new byte[49]).indexOf("\r\n"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void requiresCommonName() {
+        new CertificationRequest("");
+    }
+
+    private static PKCS10CertificationRequest createRequest(KeyPair keyPair, String keyAlgorithm) throws Exception {
+        byte[] info = new CertificationRequest("Tên")
+                .setCountry("VN")
+                .setOrganization("Org")
+                .setOrganizationalUnit("Unit")
+                .setState("State")
+                .setLocality("City")
+                .encodeInfo(keyPair.getPublic().getEncoded());
+        Signature signature = Signature.getInstance(SignatureAlgorithms.forKey(keyPair.getPrivate()));
+        signature.initSign(keyPair.getPrivate());
+        signature.update(info);
+        byte[] request = CertificationRequest.encode(info, keyAlgorithm, signature.sign());
+
+        PKCS10CertificationRequest parsed = new PKCS10CertificationRequest(request);
+        assertTrue(parsed.isSignatureValid(new JcaContentVerifierProviderBuilder().build(keyPair.getPublic())));
+        assertArrayEquals(keyPair.getPublic().getEncoded(), parsed.getSubjectPublicKeyInfo().getEncoded());
+        // Re-encoding by the reference encoder must give the same bytes.
+        assertArrayEquals(request, parsed.getEncoded());
+        return parsed;
+    }
+}
@@ -0,0 +1,95 @@
+package com.rnbiometrics.core;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class DerWriterTest {
+
+    @Test
+    public void keepsShortFormLength() {
+        byte[] encoded = sequenceOf(127);
+        assertEquals(2 + 127, encoded.length);
+        assertArrayEquals(new byte[]{0x30, 0x7f}, Arrays.copyOf(encoded, 2));
+        assertContent(encoded, 2, 127);
+    }
+
+    @Test
+    public void shiftsContentForLongFormLengths() {
+        assertHeader(sequenceOf(128), 0x30, (byte) 0x81, (byte) 0x80);
+        assertHeader(sequenceOf(255), 0x30, (byte) 0x81, (byte) 0xff);
+        assertHeader(sequenceOf(256), 0x30, (byte) 0x82, 0x01, 0x00);
+        assertHeader(sequenceOf(65535), 0x30, (byte) 0x82, (byte) 0xff, (byte) 0xff);
+        assertHeader(sequenceOf(65536), 0x30, (byte) 0x83, 0x01, 0x00, 0x00);
+        assertContent(sequenceOf(128), 3, 128);
+        assertContent(sequenceOf(256), 4, 256);
+        assertContent(sequenceOf(65536), 5, 65536);
+    }
+
+    @Test
+    public void shiftsNestedValues() {
+        DerWriter der = new DerWriter(16);
+        int outer = der.begin(DerWriter.TAG_SEQUENCE);
+        int inner = der.begin(DerWriter.TAG_SET);
+        der.write(DerWriter.TAG_UTF8_STRING, new byte[200]);
+        der.end(inner);
+        der.writeNull();
+        der.end(outer);
+
+        byte[] encoded = der.toByteArray();
+        // SEQUENCE (3 + 3 + 203 + 2) { SET (3 + 203) { UTF8String (3 + 200) }, NULL }
+        assertEquals(3 + 3 + 3 + 200 + 2, encoded.length);
+        assertHeader(encoded, 0x30, (byte) 0x81, (byte) 208);
+        assertArrayEquals(new byte[]{0x31, (byte) 0x81, (byte) 203, 0x0c, (byte) 0x81, (byte) 200}, Arrays.copyOfRange(encoded, 3, 9));
+        assertArrayEquals(new byte[]{0x05, 0x00}, Arrays.copyOfRange(encoded, encoded.length - 2, encoded.length));
+    }
+
+    @Test
+    public void writesPrimitives() {
+        DerWriter der = new DerWriter();
+        der.writeInteger(0);
+        der.writeBitString(new byte[]{1, 2});
+        der.writeObjectIdentifier(new byte[]{0x55, 0x04, 0x03});
+        der.writeUtf8String("é");
+        assertArrayEquals(new byte[]{
+                0x02, 0x01, 0x00,
+                0x03, 0x03, 0x00, 0x01, 0x02,
+                0x06, 0x03, 0x55, 0x04, 0x03,
+                0x0c, 0x02, (byte) 0xc3, (byte) 0xa9}, der.toByteArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsLargeIntegers() {
+        new DerWriter().writeInteger(128);
+    }
+
+    private static byte[] sequenceOf(int contentLength) {
+        DerWriter der = new DerWriter(16);
+        int mark = der.begin(DerWriter.TAG_SEQUENCE);
+        byte[] content = new byte[contentLength];
+        for (int i = 0; i < contentLength; i++) {
+            content[i] = (byte) i;
+        }
+        der.writeRaw(content);
+        der.end(mark);
+        return der.toByteArray();
+    }
+
+    private static void assertHeader(byte[] encoded, int... header) {
+        byte[] expected = new byte[header.length];
+        for (int i = 0; i < header.length; i++) {
+            expected[i] = (byte) header[i];
+        }
+        assertArrayEquals(expected, Arrays.copyOf(encoded, header.length));
+    }
+
+    private static void assertContent(byte[] encoded, int offset, int contentLength) {
+        assertEquals(offset + contentLength, encoded.length);
+        for (int i = 0; i < contentLength; i++) {
+            assertEquals((byte) i, encoded[offset + i]);
+        }
+    }
+}
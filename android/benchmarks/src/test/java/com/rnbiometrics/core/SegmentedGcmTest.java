@@ -0,0 +1,148 @@
+package com.rnbiometrics.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+public class SegmentedGcmTest {
+
+    private static final int SEGMENT_SIZE = 64;
+    private static final byte[] WRAP_IV = new byte[12];
+    private static final byte[] WRAPPED_KEY = new byte[48];
+
+    private final SecureRandom random = new SecureRandom();
+    private final byte[] dataKey = SegmentedGcm.newDataKey(random);
+
+    @Test
+    public void roundTripsAroundSegmentBoundaries() throws Exception {
+        int[] lengths = {0, 1, SEGMENT_SIZE - 1, SEGMENT_SIZE, SEGMENT_SIZE + 1, 3 * SEGMENT_SIZE, 3 * SEGMENT_SIZE + 7};
+        for (int length : lengths) {
+            byte[] plaintext = randomBytes(length);
+            byte[] encrypted = encrypt(plaintext);
+            // A full last segment is not followed by an empty one; empty input is one empty segment.
+            int segments = Math.max(1, (length + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            assertEquals(headerLength() + length + segments * SegmentedGcm.TAG_SIZE, encrypted.length);
+            assertArrayEquals(plaintext, decrypt(encrypted, dataKey));
+        }
+    }
+
+    @Test
+    public void readsHeaderBack() throws Exception {
+        byte[] encrypted = encrypt(randomBytes(10));
+        SegmentedGcm.Header header = SegmentedGcm.Header.read(new ByteArrayInputStream(encrypted));
+        assertEquals(SEGMENT_SIZE, header.getSegmentSize());
+        assertArrayEquals(WRAP_IV, header.getWrapIv());
+        assertArrayEquals(WRAPPED_KEY, header.getWrappedKey());
+        assertArrayEquals(Arrays.copyOf(encrypted, headerLength()), header.getEncoded());
+    }
+
+    @Test
+    public void usesFreshNoncePrefixPerFile() throws Exception {
+        byte[] plaintext = randomBytes(SEGMENT_SIZE);
+        byte[] first = encrypt(plaintext);
+        byte[] second = encrypt(plaintext);
+        assertEquals(first.length, second.length);
+        assertFalse(Arrays.equals(
+                Arrays.copyOfRange(first, headerLength(), first.length),
+                Arrays.copyOfRange(second, headerLength(), second.length)));
+    }
+
+    @Test
+    public void rejectsWrongKey() throws Exception {
+        byte[] encrypted = encrypt(randomBytes(100));
+        assertRejected(encrypted, SegmentedGcm.newDataKey(random));
+    }
+
+    @Test
+    public void rejectsTamperedSegment() throws Exception {
+        byte[] encrypted = encrypt(randomBytes(3 * SEGMENT_SIZE));
+        encrypted[headerLength() + SEGMENT_SIZE + SegmentedGcm.TAG_SIZE + 5] ^= 1;
+        assertRejected(encrypted, dataKey);
+    }
+
+    @Test
+    public void rejectsTamperedHeader() throws Exception {
+        byte[] encrypted = encrypt(randomBytes(10));
+        // Last byte of the nonce prefix, which is covered as additional data.
+        encrypted[4 + 1 + 4 + 7] ^= 1;
+        assertRejected(encrypted, dataKey);
+    }
+
+    @Test
+    public void rejectsReorderedSegments() throws Exception {
+        byte[] encrypted = encrypt(randomBytes(3 * SEGMENT_SIZE));
+        int segment = SEGMENT_SIZE + SegmentedGcm.TAG_SIZE;
+        int first = headerLength();
+        byte[] swapped = encrypted.clone();
+        System.arraycopy(encrypted, first, swapped, first + segment, segment);
+        System.arraycopy(encrypted, first + segment, swapped, first, segment);
+        assertRejected(swapped, dataKey);
+    }
+
+    @Test
+    public void rejectsDroppedFinalSegment() throws Exception {
+        byte[] encrypted = encrypt(randomBytes(3 * SEGMENT_SIZE));
+        int segment = SEGMENT_SIZE + SegmentedGcm.TAG_SIZE;
+        // Cut at a segment boundary: every remaining segment is intact, but none is marked last.
+        assertRejected(Arrays.copyOf(encrypted, encrypted.length - segment), dataKey);
+    }
+
+    @Test
+    public void rejectsTruncatedFinalSegment() throws Exception {
+        byte[] encrypted = encrypt(randomBytes(2 * SEGMENT_SIZE + 20));
+        assertRejected(Arrays.copyOf(encrypted, encrypted.length - 1), dataKey);
+        assertRejected(Arrays.copyOf(encrypted, encrypted.length - 20 - SegmentedGcm.TAG_SIZE + 3), dataKey);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsForeignFile() throws Exception {
+        SegmentedGcm.Header.read(new ByteArrayInputStream("not encrypted at all".getBytes("UTF-8")));
+    }
+
+    private byte[] encrypt(byte[] plaintext) throws Exception {
+        SegmentedGcm.Header header = SegmentedGcm.Header.create(SEGMENT_SIZE, WRAP_IV, WRAPPED_KEY, random);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long written = SegmentedGcm.encrypt(new ByteArrayInputStream(plaintext), output, dataKey, header);
+        assertEquals(plaintext.length, written);
+        return output.toByteArray();
+    }
+
+    private static byte[] decrypt(byte[] encrypted, byte[] key) throws Exception {
+        InputStream input = new ByteArrayInputStream(encrypted);
+        SegmentedGcm.Header header = SegmentedGcm.Header.read(input);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        SegmentedGcm.decrypt(input, output, key, header);
+        return output.toByteArray();
+    }
+
+    private static void assertRejected(byte[] encrypted, byte[] key) throws Exception {
+        try {
+            decrypt(encrypted, key);
+            fail("Decrypted modified input");
+        } catch (GeneralSecurityException | IOException e) {
+            // Expected.
+        }
+    }
+
+    private static int headerLength() {
+        return 4 + 1 + 4 + 8 + 1 + WRAP_IV.length + 2 + WRAPPED_KEY.length;
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,63 @@
+package com.rnbiometrics.core;
+
+import org.junit.Test;
+
+import java.nio.charset.Charset;
+import java.security.PublicKey;
+import java.security.Signature;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SignerTest {
+
+    private final SoftwareKeyBackend backend = new SoftwareKeyBackend();
+    private final Signer signer = new Signer(backend);
+
+    @Test
+    public void signsStringPayloadWithRsaKey() throws Exception {
+        signer.createKey("rsa", SigningKeySpec.of(SigningKeySpec.KEY_TYPE_RSA, 0, 0));
+        String signature = signer.sign("rsa", "payload", Payloads.TYPE_STRING);
+        assertTrue(verify(backend.getPublicKey("rsa"), "payload".getBytes(Charset.defaultCharset()), signature));
+    }
+
+    @Test
+    public void signsBase64PayloadWithEcKey() throws Exception {
+        signer.createKey("ec", SigningKeySpec.of(SigningKeySpec.KEY_TYPE_EC, 0, 0));
+        String signature = signer.sign("ec", Base64Codec.encode(new byte[]{1, 2, 3}), Payloads.TYPE_BASE64);
+        assertTrue(verify(backend.getPublicKey("ec"), new byte[]{1, 2, 3}, signature));
+    }
+
+    @Test
+    public void exportsPublicKeyAsBase64SubjectPublicKeyInfo() throws Exception {
+        String publicKey = signer.createKey("ec", SigningKeySpec.of(SigningKeySpec.KEY_TYPE_EC, 0, 0));
+        assertEquals(publicKey, signer.getPublicKey("ec"));
+        assertEquals(Base64Codec.encode(backend.getPublicKey("ec").getEncoded()), publicKey);
+        assertNull(signer.getPublicKey("missing"));
+    }
+
+    @Test
+    public void normalizesKeySpec() {
+        assertEquals(SigningKeySpec.DEFAULT_RSA_KEY_SIZE, SigningKeySpec.of(SigningKeySpec.KEY_TYPE_RSA, 0, 0).getKeysize());
+        assertEquals(SigningKeySpec.EC_KEY_SIZE, SigningKeySpec.of(SigningKeySpec.KEY_TYPE_EC, 4096, 0).getKeysize());
+        assertEquals(0, SigningKeySpec.of(SigningKeySpec.KEY_TYPE_RSA, 0, -5).getAuthValidityDuration());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void rejectsMissingKey() throws Exception {
+        signer.sign("missing", "payload", Payloads.TYPE_STRING);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUriPayloadInMemory() {
+        Payloads.decode("file:///data/payload", Payloads.TYPE_URI);
+    }
+
+    private static boolean verify(PublicKey publicKey, byte[] payload, String signature) throws Exception {
+        Signature verifier = Signature.getInstance(SignatureAlgorithms.forKey(publicKey));
+        verifier.initVerify(publicKey);
+        verifier.update(payload);
+        return verifier.verify(Base64Codec.decode(signature));
+    }
+}
@@ -0,0 +1,255 @@
+package com.rnbiometrics;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.rnbiometrics.core.Signer;
+
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Process-wide holder for the loaded AndroidKeyStore.
+ *
+ * The keystore is loaded once on first use and an index of its aliases is kept in memory,
+ * so existence checks do not go back to the keystore. Every create/delete made by the module
+ * goes through this class to keep the index in sync.
+ *
+ * A keytag normally is the keystore alias. Keys taken from the {@link KeyPool} keep their staging
+ * alias, since AndroidKeyStore entries cannot be renamed, and the keytag is mapped to it. The
+ * mapping is persisted so it survives restarts.
+ *
+ * Encoded public keys are cached per keytag and dropped whenever the key behind the keytag is
+ * deleted, replaced or found to be invalidated.
+ *
+ * Readers use the index without locking. Changes to it are made while holding this object's
+ * lock, and a reload swaps in complete new collections, so readers never see it half built.
+ */
+public final class BiometricKeyStore {
+
+    private static final String PROVIDER = "AndroidKeyStore";
+    private static final String PREFERENCES_NAME = "com.rnbiometrics.aliases";
+
+    private static volatile BiometricKeyStore instance;
+
+    private final KeyStore keyStore;
+    private final SharedPreferences preferences;
+    private volatile Set<String> aliases = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private volatile Map<String, String> promotedAliases = new ConcurrentHashMap<>();
+    private final Map<String, String> publicKeys = new ConcurrentHashMap<>();
+
+    private BiometricKeyStore(KeyStore keyStore, SharedPreferences preferences) {
+        this.keyStore = keyStore;
+        this.preferences = preferences;
+    }
+
+    public static BiometricKeyStore getInstance(Context context) throws Exception {
+        BiometricKeyStore result = instance;
+        if (result == null) {
+            synchronized (BiometricKeyStore.class) {
+                result = instance;
+                if (result == null) {
+                    long start = System.nanoTime();
+                    KeyStore keyStore = KeyStore.getInstance(PROVIDER);
+                    keyStore.load(null);
+                    SharedPreferences preferences = context.getApplicationContext()
+                            .getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+                    result = new BiometricKeyStore(keyStore, preferences);
+                    result.reloadAliases();
+                    instance = result;
+                    BiometricsMetrics.getInstance().recordSince(BiometricsMetrics.KEYSTORE_LOAD, start);
+                }
+            }
+        }
+        return result;
+    }
+
+    public KeyStore getKeyStore() {
+        return keyStore;
+    }
+
+    /**
+     * Returns the keystore alias holding the key for a keytag.
+     */
+    public String resolveAlias(String keytag) {
+        String alias = promotedAliases.get(keytag);
+        return alias != null ? alias : keytag;
+    }
+
+    public boolean containsAlias(String keytag) {
+        return aliases.contains(resolveAlias(keytag));
+    }
+
+    public PrivateKey getPrivateKey(String keytag) throws Exception {
+        return (PrivateKey) keyStore.getKey(resolveAlias(keytag), null);
+    }
+
+    public SecretKey getSecretKey(String keytag) throws Exception {
+        return (SecretKey) keyStore.getKey(resolveAlias(keytag), null);
+    }
+
+    public Certificate getCertificate(String keytag) throws Exception {
+        return keyStore.getCertificate(resolveAlias(keytag));
+    }
+
+    /**
+     * Returns the base64 X.509 encoding of the public key of keytag, without line breaks.
+     */
+    public String getPublicKeyString(String keytag) throws Exception {
+        if (!containsAlias(keytag)) {
+            publicKeys.remove(keytag);
+            throw new IllegalStateException("No key for keytag " + keytag);
+        }
+        String publicKeyString = publicKeys.get(keytag);
+        if (publicKeyString == null) {
+            publicKeyString = Signer.encode(getPublicKeyBytes(keytag));
+            publicKeys.put(keytag, publicKeyString);
+        }
+        return publicKeyString;
+    }
+
+    /**
+     * Returns the X.509 SubjectPublicKeyInfo encoding of the public key of keytag.
+     */
+    public byte[] getPublicKeyBytes(String keytag) throws Exception {
+        if (!containsAlias(keytag)) {
+            throw new IllegalStateException("No key for keytag " + keytag);
+        }
+        return getCertificate(keytag).getPublicKey().getEncoded();
+    }
+
+    /**
+     * Caches the public key of a key that was just created or promoted for keytag.
+     */
+    public String cachePublicKey(String keytag, PublicKey publicKey) {
+        String publicKeyString = encodePublicKey(publicKey);
+        publicKeys.put(keytag, publicKeyString);
+        return publicKeyString;
+    }
+
+    static String encodePublicKey(PublicKey publicKey) {
+        return Signer.encodePublicKey(publicKey);
+    }
+
+    /**
+     * Records an alias whose key was just generated into the keystore.
+     */
+    public synchronized void keyCreated(String alias) {
+        aliases.add(alias);
+        publicKeys.remove(alias);
+    }
+
+    /**
+     * Makes the key generated under stagingAlias the key of keytag. Any previous key of keytag
+     * must already be deleted.
+     */
+    public synchronized void promote(String stagingAlias, String keytag) {
+        preferences.edit().putString(keytag, stagingAlias).commit();
+        promotedAliases.put(keytag, stagingAlias);
+        publicKeys.remove(keytag);
+    }
+
+    public boolean isPromotedAlias(String alias) {
+        return promotedAliases.containsValue(alias);
+    }
+
+    public synchronized boolean deleteEntry(String keytag) {
+        String alias = resolveAlias(keytag);
+        try {
+            synchronized (keyStore) {
+                keyStore.deleteEntry(alias);
+            }
+            aliases.remove(alias);
+            publicKeys.remove(keytag);
+            forgetPromotion(keytag);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Called when the key behind a keytag can no longer be used, e.g. after a new fingerprint
+     * enrollment raised KeyPermanentlyInvalidatedException. The entry is removed so callers see
+     * the key as missing and create a new one.
+     */
+    public synchronized void keyInvalidated(String keytag) {
+        String alias = resolveAlias(keytag);
+        deleteEntry(keytag);
+        aliases.remove(alias);
+        publicKeys.remove(keytag);
+        forgetPromotion(keytag);
+    }
+
+    /**
+     * Returns the aliases in the index starting with prefix.
+     */
+    public List<String> aliasesWithPrefix(String prefix) {
+        List<String> result = new ArrayList<>();
+        for (String alias : aliases) {
+            if (alias.startsWith(prefix)) {
+                result.add(alias);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the keytags starting with prefix, i.e. the aliases of the index minus the pool's
+     * staging aliases, with promoted keys listed under their keytag.
+     */
+    public List<String> keytagsWithPrefix(String prefix) {
+        Set<String> aliases = this.aliases;
+        List<String> result = new ArrayList<>();
+        for (String alias : aliases) {
+            if (alias.startsWith(prefix) && !alias.startsWith(KeyPool.STAGING_PREFIX)) {
+                result.add(alias);
+            }
+        }
+        for (Map.Entry<String, String> entry : promotedAliases.entrySet()) {
+            if (entry.getKey().startsWith(prefix) && aliases.contains(entry.getValue())) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rebuilds the alias index from the keystore.
+     */
+    public synchronized void reloadAliases() throws Exception {
+        Set<String> reloadedAliases = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        synchronized (keyStore) {
+            Enumeration<String> enumeration = keyStore.aliases();
+            while (enumeration.hasMoreElements()) {
+                reloadedAliases.add(enumeration.nextElement());
+            }
+        }
+        Map<String, String> reloadedPromotions = new ConcurrentHashMap<>();
+        for (Map.Entry<String, ?> entry : preferences.getAll().entrySet()) {
+            if (entry.getValue() instanceof String) {
+                reloadedPromotions.put(entry.getKey(), (String) entry.getValue());
+            }
+        }
+        promotedAliases = reloadedPromotions;
+        aliases = reloadedAliases;
+        publicKeys.clear();
+    }
+
+    private synchronized void forgetPromotion(String keytag) {
+        if (promotedAliases.remove(keytag) != null) {
+            preferences.edit().remove(keytag).commit();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.rnbiometrics;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Process-wide latency and outcome counters for the module's native operations.
+ *
+ * Every operation has a histogram with logarithmic buckets (four per power of two of
+ * microseconds), so recording a sample is a few atomic increments and percentiles are accurate
+ * to within 25%. Errors are counted per operation and error code.
+ *
+ * An optional {@link Listener} receives every sample as it is recorded, e.g. to forward it to
+ * the app's telemetry.
+ */
+public final class BiometricsMetrics {
+
+    /** Loading the AndroidKeyStore and building the alias index. */
+    public static final String KEYSTORE_LOAD = "keystoreLoad";
+    /** Generating a key pair, for createKeys or the key pool. */
+    public static final String KEY_GENERATION = "keyGeneration";
+    /** Time a prompt request waited in the queue before being shown. */
+    public static final String PROMPT_QUEUE = "promptQueue";
+    /** Preparing and displaying a prompt: key lookup, signature init and authenticate(). */
+    public static final String PROMPT_SHOW = "promptShow";
+    /** Error counter for prompts cancelled, timed out or dismissed with their activity. */
+    public static final String PROMPT = "prompt";
+    /** From the prompt being shown to the authentication callback, i.e. the user's time. */
+    public static final String AUTHENTICATION = "authentication";
+    /** Signing one payload after authentication. */
+    public static final String SIGN = "sign";
+    /** Encrypting a file after authentication, including unwrapping and IO. */
+    public static final String ENCRYPT_FILE = "encryptFile";
+    /** Decrypting a file after authentication, including unwrapping and IO. */
+    public static final String DECRYPT_FILE = "decryptFile";
+
+    /**
+     * Receives samples as they are recorded, on the thread that recorded them. Implementations
+     * must be fast and thread-safe.
+     */
+    public interface Listener {
+        void onTiming(String operation, long durationNanos);
+
+        void onError(String operation, String code);
+    }
+
+    private static final BiometricsMetrics INSTANCE = new BiometricsMetrics();
+
+    private final ConcurrentHashMap<String, Histogram> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private volatile Listener listener;
+
+    private BiometricsMetrics() {
+    }
+
+    public static BiometricsMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Records the time elapsed since startNanos, a {@link System#nanoTime()} value.
+     */
+    public void recordSince(String operation, long startNanos) {
+        record(operation, System.nanoTime() - startNanos);
+    }
+
+    public void record(String operation, long durationNanos) {
+        Histogram histogram = timers.get(operation);
+        if (histogram == null) {
+            Histogram created = new Histogram();
+            histogram = timers.putIfAbsent(operation, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        histogram.record(durationNanos);
+
+        Listener current = listener;
+        if (current != null) {
+            current.onTiming(operation, durationNanos);
+        }
+    }
+
+    public void error(String operation, int code) {
+        error(operation, String.valueOf(code));
+    }
+
+    public void error(String operation, String code) {
+        String key = operation + ":" + code;
+        AtomicLong counter = errors.get(key);
+        if (counter == null) {
+            AtomicLong created = new AtomicLong();
+            counter = errors.putIfAbsent(key, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        counter.incrementAndGet();
+
+        Listener current = listener;
+        if (current != null) {
+            current.onError(operation, code);
+        }
+    }
+
+    public void reset() {
+        timers.clear();
+        errors.clear();
+    }
+
+    /**
+     * Returns {timers: {operation: {count, mean, p50, p95, p99, max}}, errors: {"operation:code": count}},
+     * durations in milliseconds.
+     */
+    public WritableMap toMap() {
+        WritableMap timersMap = new WritableNativeMap();
+        for (Map.Entry<String, Histogram> entry : timers.entrySet()) {
+            timersMap.putMap(entry.getKey(), entry.getValue().toMap());
+        }
+        WritableMap errorsMap = new WritableNativeMap();
+        for (Map.Entry<String, AtomicLong> entry : errors.entrySet()) {
+            errorsMap.putDouble(entry.getKey(), entry.getValue().get());
+        }
+        WritableMap resultMap = new WritableNativeMap();
+        resultMap.putMap("timers", timersMap);
+        resultMap.putMap("errors", errorsMap);
+        return resultMap;
+    }
+
+    static class Histogram {
+        private static final int SUB_BUCKET_BITS = 2;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+        private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong sumMicros = new AtomicLong();
+        private final AtomicLong maxMicros = new AtomicLong();
+
+        void record(long durationNanos) {
+            long micros = Math.max(0, durationNanos / 1000);
+            buckets.incrementAndGet(bucketOf(micros));
+            count.incrementAndGet();
+            sumMicros.addAndGet(micros);
+            long max = maxMicros.get();
+            while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+                max = maxMicros.get();
+            }
+        }
+
+        static int bucketOf(long micros) {
+            if (micros < SUB_BUCKETS) {
+                return (int) micros;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(micros);
+            int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+        }
+
+        /**
+         * Returns the largest value, in microseconds, that falls into bucket.
+         */
+        static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long subBucket = bucket % SUB_BUCKETS;
+            long lowerBound = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+            return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+
+        long percentile(double quantile, long total) {
+            long rank = (long) Math.ceil(quantile * total);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), maxMicros.get());
+                }
+            }
+            return maxMicros.get();
+        }
+
+        WritableMap toMap() {
+            long total = count.get();
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putDouble("count", total);
+            resultMap.putDouble("mean", total > 0 ? sumMicros.get() / 1000.0 / total : 0);
+            resultMap.putDouble("p50", total > 0 ? percentile(0.50, total) / 1000.0 : 0);
+            resultMap.putDouble("p95", total > 0 ? percentile(0.95, total) / 1000.0 : 0);
+            resultMap.putDouble("p99", total > 0 ? percentile(0.99, total) / 1000.0 : 0);
+            resultMap.putDouble("max", maxMicros.get() / 1000.0);
+            return resultMap;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.rnbiometrics;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import com.rnbiometrics.core.CertificationRequest;
+
+import java.security.Signature;
+
+/**
+ * Signs a CertificationRequestInfo after authentication and resolves with the PKCS#10 request.
+ */
+public class CreateCsrCallback extends CreateSignatureCallback {
+    private byte[] certificationRequestInfo;
+    private String keyAlgorithm;
+
+    public CreateCsrCallback(PromptRequest request, byte[] certificationRequestInfo, String keyAlgorithm) {
+        super(request, null, TYPE_STRING, null);
+        this.certificationRequestInfo = certificationRequestInfo;
+        this.keyAlgorithm = keyAlgorithm;
+    }
+
+    @Override
+    protected byte[] signPayload(Signature signature) throws Exception {
+        signature.update(certificationRequestInfo);
+        return signature.sign();
+    }
+
+    @Override
+    protected WritableMap buildResult(byte[] signed) {
+        byte[] csr = CertificationRequest.encode(certificationRequestInfo, keyAlgorithm, signed);
+
+        WritableMap resultMap = new WritableNativeMap();
+        resultMap.putBoolean("success", true);
+        resultMap.putString("csr", CertificationRequest.toPemBody(csr));
+        return resultMap;
+    }
+}
@@ -1,66 +1,145 @@
 package com.rnbiometrics;
 
-import android.util.Base64;
+import android.content.ContentResolver;
+import android.security.keystore.KeyPermanentlyInvalidatedException;
 
 import androidx.annotation.NonNull;
 import androidx.biometric.BiometricPrompt;
 
-import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeMap;
 
+import com.rnbiometrics.core.Payloads;
+import com.rnbiometrics.core.SignatureAlgorithms;
+import com.rnbiometrics.core.Signer;
+
+import java.security.PrivateKey;
 import java.security.Signature;
+import java.util.concurrent.Future;
 
 public class CreateSignatureCallback extends BiometricPrompt.AuthenticationCallback {
-    private Promise promise;
+    private PromptRequest request;
     private String payload;
     private int type;
+    private ContentResolver contentResolver;
+    private Future<byte[]> prehashedPayload;
+    private BiometricKeyStore biometricKeyStore;
+    private String keytag;
+    private PrivateKey timeBoundKey;
 
-    public static final int TYPE_BASE64 = 1;
-    public static final int TYPE_STRING = 0;
-    public CreateSignatureCallback(Promise promise, String payload, int type) {
+    public static final int TYPE_BASE64 = Payloads.TYPE_BASE64;
+    public static final int TYPE_STRING = Payloads.TYPE_STRING;
+    public static final int TYPE_URI = Payloads.TYPE_URI;
+    public CreateSignatureCallback(PromptRequest request, String payload, int type, ContentResolver contentResolver) {
         super();
-        this.promise = promise;
+        this.request = request;
         this.payload = payload;
         this.type   = type;
+        this.contentResolver = contentResolver;
+    }
+
+    /**
+     * @param prehashedPayload data computed while the prompt is showing, signed as-is with a NONEwith* signature
+     */
+    public CreateSignatureCallback(PromptRequest request, String payload, int type, ContentResolver contentResolver, Future<byte[]> prehashedPayload) {
+        this(request, payload, type, contentResolver);
+        this.prehashedPayload = prehashedPayload;
+    }
+
+    /**
+     * Signs with a key created with authValidityDuration. The prompt then carries no CryptoObject
+     * and the signature is initialized here, after authentication.
+     */
+    public void setTimeBoundKey(BiometricKeyStore biometricKeyStore, String keytag, PrivateKey privateKey) {
+        this.biometricKeyStore = biometricKeyStore;
+        this.keytag = keytag;
+        this.timeBoundKey = privateKey;
     }
 
     @Override
     public void onAuthenticationError(int errorCode, @NonNull CharSequence errString) {
         super.onAuthenticationError(errorCode, errString);
+        request.authenticationFailed(errorCode);
+        if (prehashedPayload != null) {
+            prehashedPayload.cancel(true);
+        }
         if (errorCode == BiometricPrompt.ERROR_NEGATIVE_BUTTON || errorCode == BiometricPrompt.ERROR_USER_CANCELED ) {
             WritableMap resultMap = new WritableNativeMap();
             resultMap.putBoolean("success", false);
             resultMap.putString("error", "User cancellation");
-            this.promise.resolve(resultMap);
+            this.request.resolve(resultMap);
         } else {
-            this.promise.reject(errString.toString(), errString.toString());
+            this.request.reject(errString.toString(), errString.toString());
         }
     }
 
     @Override
     public void onAuthenticationSucceeded(@NonNull BiometricPrompt.AuthenticationResult result) {
         super.onAuthenticationSucceeded(result);
+        request.authenticationFinished();
 
         try {
-            BiometricPrompt.CryptoObject cryptoObject = result.getCryptoObject();
-            Signature cryptoSignature = cryptoObject.getSignature();
-            if (type == TYPE_BASE64) {
-                byte[] byteb64 = Base64.decode(this.payload,0);
-                cryptoSignature.update(byteb64);
-            }else{
-                cryptoSignature.update(this.payload.getBytes());
+            Signature signature;
+            if (timeBoundKey != null) {
+                signature = Signature.getInstance(SignatureAlgorithms.forKey(timeBoundKey));
+                try {
+                    signature.initSign(timeBoundKey);
+                } catch (KeyPermanentlyInvalidatedException e) {
+                    biometricKeyStore.keyInvalidated(keytag);
+                    throw e;
+                }
+            } else {
+                signature = result.getCryptoObject().getSignature();
             }
-            byte[] signed = cryptoSignature.sign();
-            String signedString = Base64.encodeToString(signed, Base64.DEFAULT);
-            signedString = signedString.replaceAll("\r", "").replaceAll("\n", "");
+            long start = System.nanoTime();
+            byte[] signed = signPayload(signature);
+            BiometricsMetrics.getInstance().recordSince(BiometricsMetrics.SIGN, start);
 
-            WritableMap resultMap = new WritableNativeMap();
-            resultMap.putBoolean("success", true);
-            resultMap.putString("signature", signedString);
-            promise.resolve(resultMap);
+            request.resolve(buildResult(signed));
         } catch (Exception e) {
-            promise.reject("Error creating signature: " + e.getMessage(), "Error creating signature");
+            BiometricsMetrics.getInstance().error(BiometricsMetrics.SIGN, e.getClass().getSimpleName());
+            request.reject("Error creating signature: " + e.getMessage(), "Error creating signature");
+        }
+    }
+
+    /**
+     * Signs the payload with the authenticated signature and returns the raw signature.
+     */
+    protected byte[] signPayload(Signature signature) throws Exception {
+        if (prehashedPayload != null) {
+            signature.update(prehashedPayload.get());
+            return signature.sign();
+        }
+        if (type == TYPE_URI) {
+            PayloadStream.update(signature, contentResolver, payload);
+            return signature.sign();
         }
+        return Signer.sign(signature, Payloads.decode(payload, type));
+    }
+
+    /**
+     * Returns the map the request resolves with.
+     */
+    protected WritableMap buildResult(byte[] signed) throws Exception {
+        WritableMap resultMap = new WritableNativeMap();
+        resultMap.putBoolean("success", true);
+        resultMap.putString("signature", encode(signed));
+        return resultMap;
+    }
+
+    /**
+     * Feeds the payload into an initialized signature and returns the base64 signature.
+     * With TYPE_URI the payload is a file:// or content:// URI whose content is streamed.
+     */
+    static String sign(Signature signature, String payload, int type, ContentResolver contentResolver) throws Exception {
+        if (type == TYPE_URI) {
+            PayloadStream.update(signature, contentResolver, payload);
+            return encode(signature.sign());
+        }
+        return Signer.sign(signature, payload, type);
+    }
+
+    static String encode(byte[] signed) {
+        return Signer.encode(signed);
     }
 }
@@ -0,0 +1,106 @@
+package com.rnbiometrics;
+
+import android.content.ContentResolver;
+import android.security.keystore.KeyPermanentlyInvalidatedException;
+
+import androidx.annotation.NonNull;
+import androidx.biometric.BiometricPrompt;
+
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import com.rnbiometrics.core.SignatureAlgorithms;
+
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.List;
+
+/**
+ * Signs a list of payloads after a single successful authentication.
+ *
+ * With a time-bound key the prompt carries no CryptoObject and the signature is initialized
+ * here, after authentication. A per-use key signs through the authenticated CryptoObject, which
+ * is good for one signature, so such requests are limited to a single payload.
+ */
+public class CreateSignaturesCallback extends BiometricPrompt.AuthenticationCallback {
+    private PromptRequest request;
+    private BiometricKeyStore biometricKeyStore;
+    private String keytag;
+    private PrivateKey privateKey;
+    private List<String> payloads;
+    private int type;
+    private ContentResolver contentResolver;
+
+    public CreateSignaturesCallback(PromptRequest request, BiometricKeyStore biometricKeyStore, String keytag, PrivateKey privateKey, List<String> payloads, int type, ContentResolver contentResolver) {
+        super();
+        this.request = request;
+        this.biometricKeyStore = biometricKeyStore;
+        this.keytag = keytag;
+        this.privateKey = privateKey;
+        this.payloads = payloads;
+        this.type = type;
+        this.contentResolver = contentResolver;
+    }
+
+    @Override
+    public void onAuthenticationError(int errorCode, @NonNull CharSequence errString) {
+        super.onAuthenticationError(errorCode, errString);
+        request.authenticationFailed(errorCode);
+        if (errorCode == BiometricPrompt.ERROR_NEGATIVE_BUTTON || errorCode == BiometricPrompt.ERROR_USER_CANCELED ) {
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putBoolean("success", false);
+            resultMap.putString("error", "User cancellation");
+            this.request.resolve(resultMap);
+        } else {
+            this.request.reject(errString.toString(), errString.toString());
+        }
+    }
+
+    @Override
+    public void onAuthenticationSucceeded(@NonNull BiometricPrompt.AuthenticationResult result) {
+        super.onAuthenticationSucceeded(result);
+        request.authenticationFinished();
+
+        try {
+            BiometricPrompt.CryptoObject cryptoObject = result.getCryptoObject();
+            Signature signature;
+            if (cryptoObject != null && cryptoObject.getSignature() != null) {
+                signature = cryptoObject.getSignature();
+            } else {
+                signature = Signature.getInstance(SignatureAlgorithms.forKey(privateKey));
+                try {
+                    signature.initSign(privateKey);
+                } catch (KeyPermanentlyInvalidatedException e) {
+                    biometricKeyStore.keyInvalidated(keytag);
+                    throw e;
+                }
+            }
+
+            WritableArray signatures = new WritableNativeArray();
+            for (String payload : payloads) {
+                WritableMap entry = new WritableNativeMap();
+                long start = System.nanoTime();
+                try {
+                    // sign() resets the signature to its initialized state, ready for the next payload.
+                    entry.putString("signature", CreateSignatureCallback.sign(signature, payload, type, contentResolver));
+                    entry.putBoolean("success", true);
+                    BiometricsMetrics.getInstance().recordSince(BiometricsMetrics.SIGN, start);
+                } catch (Exception e) {
+                    BiometricsMetrics.getInstance().error(BiometricsMetrics.SIGN, e.getClass().getSimpleName());
+                    entry.putBoolean("success", false);
+                    entry.putString("error", "Error creating signature: " + e.getMessage());
+                }
+                signatures.pushMap(entry);
+            }
+
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putBoolean("success", true);
+            resultMap.putArray("signatures", signatures);
+            request.resolve(resultMap);
+        } catch (Exception e) {
+            request.reject("Error creating signatures: " + e.getMessage(), "Error creating signatures");
+        }
+    }
+}
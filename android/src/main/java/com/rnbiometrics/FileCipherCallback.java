@@ -0,0 +1,228 @@
+package com.rnbiometrics;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.biometric.BiometricPrompt;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import com.rnbiometrics.core.SegmentedGcm;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+
+import javax.crypto.Cipher;
+
+/**
+ * Encrypts or decrypts a file after authentication.
+ *
+ * The authenticated keystore Cipher is used once, to wrap a new random data key (encryption) or
+ * to unwrap the data key stored in the file header (decryption). The content is then streamed
+ * through {@link SegmentedGcm} with the data key, so the keystore is not involved per segment
+ * and memory use does not grow with the file. Streaming runs on a separate executor, so large
+ * files do not hold up the callbacks of other prompts.
+ */
+public class FileCipherCallback extends BiometricPrompt.AuthenticationCallback {
+    private PromptRequest request;
+    private Executor fileExecutor;
+    private boolean encrypt;
+    private ContentResolver contentResolver;
+    private String source;
+    private String destination;
+    private SegmentedGcm.Header header;
+    private boolean destinationOpened;
+
+    /**
+     * @param fileExecutor runs the file IO after authentication
+     * @param header       the header read from source when decrypting, null when encrypting
+     */
+    public FileCipherCallback(PromptRequest request, Executor fileExecutor, ContentResolver contentResolver, String source, String destination, SegmentedGcm.Header header) {
+        super();
+        this.request = request;
+        this.fileExecutor = fileExecutor;
+        this.encrypt = header == null;
+        this.contentResolver = contentResolver;
+        this.source = source;
+        this.destination = destination;
+        this.header = header;
+    }
+
+    @Override
+    public void onAuthenticationError(int errorCode, @NonNull CharSequence errString) {
+        super.onAuthenticationError(errorCode, errString);
+        request.authenticationFailed(errorCode);
+        if (errorCode == BiometricPrompt.ERROR_NEGATIVE_BUTTON || errorCode == BiometricPrompt.ERROR_USER_CANCELED) {
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putBoolean("success", false);
+            resultMap.putString("error", "User cancellation");
+            this.request.resolve(resultMap);
+        } else {
+            this.request.reject(errString.toString(), errString.toString());
+        }
+    }
+
+    @Override
+    public void onAuthenticationSucceeded(@NonNull BiometricPrompt.AuthenticationResult result) {
+        super.onAuthenticationSucceeded(result);
+        request.authenticationFinished();
+
+        final Cipher cipher = result.getCryptoObject().getCipher();
+        fileExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                process(cipher);
+            }
+        });
+    }
+
+    private void process(Cipher cipher) {
+        String operation = encrypt ? BiometricsMetrics.ENCRYPT_FILE : BiometricsMetrics.DECRYPT_FILE;
+        long start = System.nanoTime();
+        try {
+            long bytes = encrypt ? encrypt(cipher) : decrypt(cipher);
+            BiometricsMetrics.getInstance().recordSince(operation, start);
+
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putBoolean("success", true);
+            resultMap.putDouble("bytes", bytes);
+            request.resolve(resultMap);
+        } catch (Exception e) {
+            BiometricsMetrics.getInstance().error(operation, e.getClass().getSimpleName());
+            if (destinationOpened) {
+                deleteDestination();
+            }
+            String message = encrypt ? "Error encrypting file: " : "Error decrypting file: ";
+            request.reject(message + e.getMessage(), message + e.getMessage());
+        }
+    }
+
+    private long encrypt(Cipher wrapCipher) throws Exception {
+        SecureRandom random = new SecureRandom();
+        byte[] dataKey = SegmentedGcm.newDataKey(random);
+        InputStream input = null;
+        OutputStream output = null;
+        try {
+            byte[] wrappedKey = wrapCipher.doFinal(dataKey);
+            SegmentedGcm.Header fileHeader = SegmentedGcm.Header.create(SegmentedGcm.DEFAULT_SEGMENT_SIZE, wrapCipher.getIV(), wrappedKey, random);
+            input = openInput(contentResolver, source);
+            output = openOutput();
+            long bytes = SegmentedGcm.encrypt(input, output, dataKey, fileHeader);
+            // Closed here so errors flushing to the destination are reported.
+            output.close();
+            return bytes;
+        } finally {
+            Arrays.fill(dataKey, (byte) 0);
+            close(input);
+            close(output);
+        }
+    }
+
+    private long decrypt(Cipher unwrapCipher) throws Exception {
+        byte[] dataKey = unwrapCipher.doFinal(header.getWrappedKey());
+        InputStream input = null;
+        OutputStream output = null;
+        try {
+            input = openInput(contentResolver, source);
+            SegmentedGcm.Header fileHeader = SegmentedGcm.Header.read(input);
+            if (!Arrays.equals(fileHeader.getEncoded(), header.getEncoded())) {
+                throw new IOException("Encrypted file changed during authentication");
+            }
+            output = openOutput();
+            long bytes = SegmentedGcm.decrypt(input, output, dataKey, fileHeader);
+            // Closed here so errors flushing to the destination are reported.
+            output.close();
+            return bytes;
+        } finally {
+            Arrays.fill(dataKey, (byte) 0);
+            close(input);
+            close(output);
+        }
+    }
+
+    /**
+     * Reads the header of an encrypted file, e.g. to initialize the unwrapping cipher before the
+     * prompt is shown.
+     */
+    static SegmentedGcm.Header readHeader(ContentResolver contentResolver, String uriString) throws IOException {
+        InputStream input = openInput(contentResolver, uriString);
+        try {
+            return SegmentedGcm.Header.read(input);
+        } finally {
+            close(input);
+        }
+    }
+
+    /**
+     * Returns whether two URIs name the same file. Writing to the source would truncate it
+     * before it is read, and the cleanup after the failure would then delete it.
+     */
+    static boolean isSameFile(String source, String destination) {
+        if (source.equals(destination)) {
+            return true;
+        }
+        Uri sourceUri = Uri.parse(source);
+        Uri destinationUri = Uri.parse(destination);
+        if (!"file".equals(sourceUri.getScheme()) || !"file".equals(destinationUri.getScheme())) {
+            return false;
+        }
+        try {
+            return new File(sourceUri.getPath()).getCanonicalPath().equals(new File(destinationUri.getPath()).getCanonicalPath());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static InputStream openInput(ContentResolver contentResolver, String uriString) throws FileNotFoundException {
+        InputStream input = contentResolver.openInputStream(Uri.parse(uriString));
+        if (input == null) {
+            throw new FileNotFoundException("Cannot open source uri: " + uriString);
+        }
+        return input;
+    }
+
+    private OutputStream openOutput() throws FileNotFoundException {
+        OutputStream output = contentResolver.openOutputStream(Uri.parse(destination), "wt");
+        if (output == null) {
+            throw new FileNotFoundException("Cannot open destination uri: " + destination);
+        }
+        destinationOpened = true;
+        return output;
+    }
+
+    /**
+     * Removes incomplete output, so a failed run does not leave partial plaintext behind.
+     */
+    private void deleteDestination() {
+        try {
+            Uri uri = Uri.parse(destination);
+            if ("file".equals(uri.getScheme())) {
+                new File(uri.getPath()).delete();
+            } else {
+                contentResolver.delete(uri, null, null);
+            }
+        } catch (Exception e) {
+            // Best effort, the destination may not support deletion.
+        }
+    }
+
+    private static void close(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // Nothing left to do with the stream.
+        }
+    }
+}
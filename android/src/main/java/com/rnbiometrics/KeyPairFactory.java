@@ -0,0 +1,92 @@
+package com.rnbiometrics;
+
+import android.os.Build;
+import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyProperties;
+
+import com.rnbiometrics.core.SigningKeySpec;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.RSAKeyGenParameterSpec;
+
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+
+/**
+ * Generates the biometric-bound keys used by the module.
+ */
+final class KeyPairFactory {
+
+    static final int KEY_TYPE_RSA = SigningKeySpec.KEY_TYPE_RSA;
+    static final int KEY_TYPE_EC = SigningKeySpec.KEY_TYPE_EC;
+
+    private KeyPairFactory() {
+    }
+
+    /**
+     * Generates a signing key pair in the AndroidKeyStore. RSA keys use keysize bits, EC keys are
+     * always on the P-256 (secp256r1) curve.
+     */
+    static KeyPair generate(String alias, int keytype, int keysize, int authValidityDuration) throws Exception {
+        return generate(alias, SigningKeySpec.of(keytype, keysize, authValidityDuration), false);
+    }
+
+    /**
+     * @param allowPrehash also allow DIGEST_NONE, so createSignature can sign a digest computed
+     *                     while the prompt is showing. Such a key signs any digest it is given,
+     *                     so this is only set when the caller opts in at creation.
+     */
+    static KeyPair generate(String alias, int keytype, int keysize, int authValidityDuration, boolean allowPrehash) throws Exception {
+        return generate(alias, SigningKeySpec.of(keytype, keysize, authValidityDuration), allowPrehash);
+    }
+
+    static KeyPair generate(String alias, SigningKeySpec spec, boolean allowPrehash) throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(spec.getAlgorithm(), "AndroidKeyStore");
+        KeyGenParameterSpec.Builder builder = new KeyGenParameterSpec.Builder(alias, KeyProperties.PURPOSE_SIGN)
+                .setUserAuthenticationRequired(true);
+        if (allowPrehash) {
+            builder.setDigests(KeyProperties.DIGEST_SHA256, KeyProperties.DIGEST_NONE);
+        } else {
+            builder.setDigests(KeyProperties.DIGEST_SHA256);
+        }
+        if (spec.isEc()) {
+            builder.setAlgorithmParameterSpec(new ECGenParameterSpec(SigningKeySpec.EC_CURVE));
+        } else {
+            builder.setSignaturePaddings(KeyProperties.SIGNATURE_PADDING_RSA_PKCS1)
+                    .setAlgorithmParameterSpec(new RSAKeyGenParameterSpec(spec.getKeysize(), RSAKeyGenParameterSpec.F4));
+        }
+        int authValidityDuration = spec.getAuthValidityDuration();
+        if (authValidityDuration > 0) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R) {
+                builder.setUserAuthenticationParameters(authValidityDuration, KeyProperties.AUTH_BIOMETRIC_STRONG);
+            } else {
+                builder.setUserAuthenticationValidityDurationSeconds(authValidityDuration);
+            }
+        }
+        long start = System.nanoTime();
+        keyPairGenerator.initialize(builder.build());
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        BiometricsMetrics.getInstance().recordSince(BiometricsMetrics.KEY_GENERATION, start);
+        return keyPair;
+    }
+
+    /**
+     * Generates an AES-256 key for GCM encryption in the AndroidKeyStore. Every use needs its own
+     * authentication, through a Cipher CryptoObject.
+     */
+    static SecretKey generateEncryptionKey(String alias) throws Exception {
+        KeyGenerator keyGenerator = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, "AndroidKeyStore");
+        keyGenerator.init(new KeyGenParameterSpec.Builder(alias, KeyProperties.PURPOSE_ENCRYPT | KeyProperties.PURPOSE_DECRYPT)
+                .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
+                .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
+                .setKeySize(256)
+                .setUserAuthenticationRequired(true)
+                .build());
+        long start = System.nanoTime();
+        SecretKey secretKey = keyGenerator.generateKey();
+        BiometricsMetrics.getInstance().recordSince(BiometricsMetrics.KEY_GENERATION, start);
+        return secretKey;
+    }
+}
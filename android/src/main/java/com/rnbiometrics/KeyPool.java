@@ -0,0 +1,177 @@
+package com.rnbiometrics;
+
+import android.content.Context;
+import android.os.Process;
+
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in pool of signing keys generated ahead of time on a low-priority thread.
+ *
+ * Keys are generated under staging aliases that encode their spec. createKeys takes a staged key
+ * matching the requested spec and promotes it to the keytag through {@link BiometricKeyStore},
+ * then the pool is refilled in the background. Staged keys left from a previous run are reused.
+ *
+ * Staged keys are biometric-bound, so a new enrollment can invalidate them while they wait.
+ * Probing them would start a keystore operation per key, so this is left to the first use of the
+ * promoted key, where KeyPermanentlyInvalidatedException deletes it like any other invalidated key.
+ */
+public class KeyPool {
+
+    static final String STAGING_PREFIX = "__rnbiometrics_pool_";
+
+    private final Context context;
+    private final ExecutorService executor;
+    private final Queue<String> staged = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean refillScheduled = new AtomicBoolean(false);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private volatile String specPrefix;
+    private volatile int keytype;
+    private volatile int keysize;
+    private volatile int authValidityDuration;
+    private volatile int size;
+
+    public KeyPool(Context context) {
+        this.context = context;
+        this.executor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                        runnable.run();
+                    }
+                }, "rnbiometrics-keypool");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Sets the spec of pooled keys and the number of keys kept ready. A size of 0 disables the
+     * pool. Staged keys of another spec are deleted.
+     */
+    public synchronized void configure(int keytype, int keysize, int authValidityDuration, int size) throws Exception {
+        this.keytype = keytype;
+        this.keysize = normalizeKeysize(keytype, keysize);
+        this.authValidityDuration = authValidityDuration;
+        this.size = size;
+        this.specPrefix = stagingPrefix(keytype, this.keysize, authValidityDuration);
+
+        BiometricKeyStore biometricKeyStore = BiometricKeyStore.getInstance(context);
+        staged.clear();
+        for (String alias : biometricKeyStore.aliasesWithPrefix(STAGING_PREFIX)) {
+            if (biometricKeyStore.isPromotedAlias(alias)) {
+                continue;
+            }
+            if (size > 0 && alias.startsWith(specPrefix)) {
+                staged.add(alias);
+            } else {
+                biometricKeyStore.deleteEntry(alias);
+            }
+        }
+        refill();
+    }
+
+    /**
+     * Returns the staging alias of a ready key matching the spec, or null when the caller has to
+     * generate the key itself. A take also retries a refill that stopped after a failure.
+     */
+    public synchronized String take(int keytype, int keysize, int authValidityDuration) {
+        if (size == 0) {
+            return null;
+        }
+        String alias = null;
+        if (keytype == this.keytype && normalizeKeysize(keytype, keysize) == this.keysize
+                && authValidityDuration == this.authValidityDuration) {
+            alias = staged.poll();
+        }
+        if (alias == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        refill();
+        return alias;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public int getAvailable() {
+        return staged.size();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void refill() {
+        if (size == 0 || !refillScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                boolean failed = false;
+                try {
+                    while (staged.size() < size) {
+                        String prefix = specPrefix;
+                        int keytype = KeyPool.this.keytype;
+                        int keysize = KeyPool.this.keysize;
+                        int authValidityDuration = KeyPool.this.authValidityDuration;
+                        String alias = prefix + UUID.randomUUID().toString();
+
+                        KeyPairFactory.generate(alias, keytype, keysize, authValidityDuration);
+                        BiometricKeyStore biometricKeyStore = BiometricKeyStore.getInstance(context);
+                        biometricKeyStore.keyCreated(alias);
+                        if (prefix.equals(specPrefix)) {
+                            staged.add(alias);
+                        } else {
+                            // The pool was reconfigured while this key was generated.
+                            biometricKeyStore.deleteEntry(alias);
+                        }
+                    }
+                } catch (Exception e) {
+                    // Generation usually keeps failing (no secure lock screen, no enrolled
+                    // biometric), so the pool stays short and createKeys generates inline until
+                    // the next take() or configure() tries again.
+                    failed = true;
+                } finally {
+                    refillScheduled.set(false);
+                }
+                if (!failed && staged.size() < size) {
+                    refill();
+                }
+            }
+        });
+    }
+
+    private static int normalizeKeysize(int keytype, int keysize) {
+        return keytype == KeyPairFactory.KEY_TYPE_EC ? 256 : keysize;
+    }
+
+    private static String stagingPrefix(int keytype, int keysize, int authValidityDuration) {
+        return STAGING_PREFIX + keytype + "_" + keysize + "_" + authValidityDuration + "_";
+    }
+}
@@ -0,0 +1,65 @@
+package com.rnbiometrics;
+
+import android.security.keystore.KeyPermanentlyInvalidatedException;
+
+import androidx.annotation.NonNull;
+import androidx.biometric.BiometricPrompt;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import java.security.PrivateKey;
+
+public class OpenSigningSessionCallback extends BiometricPrompt.AuthenticationCallback {
+    private PromptRequest request;
+    private SigningSessions sessions;
+    private BiometricKeyStore biometricKeyStore;
+    private String keytag;
+    private PrivateKey privateKey;
+    private int validitySeconds;
+
+    public OpenSigningSessionCallback(PromptRequest request, SigningSessions sessions, BiometricKeyStore biometricKeyStore, String keytag, PrivateKey privateKey, int validitySeconds) {
+        super();
+        this.request = request;
+        this.sessions = sessions;
+        this.biometricKeyStore = biometricKeyStore;
+        this.keytag = keytag;
+        this.privateKey = privateKey;
+        this.validitySeconds = validitySeconds;
+    }
+
+    @Override
+    public void onAuthenticationError(int errorCode, @NonNull CharSequence errString) {
+        super.onAuthenticationError(errorCode, errString);
+        request.authenticationFailed(errorCode);
+        if (errorCode == BiometricPrompt.ERROR_NEGATIVE_BUTTON || errorCode == BiometricPrompt.ERROR_USER_CANCELED) {
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putBoolean("success", false);
+            resultMap.putString("error", "User cancellation");
+            this.request.resolve(resultMap);
+        } else {
+            this.request.reject(errString.toString(), errString.toString());
+        }
+    }
+
+    @Override
+    public void onAuthenticationSucceeded(@NonNull BiometricPrompt.AuthenticationResult result) {
+        super.onAuthenticationSucceeded(result);
+        request.authenticationFinished();
+
+        try {
+            String sessionId = sessions.open(keytag, privateKey, validitySeconds);
+
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putBoolean("success", true);
+            resultMap.putString("sessionId", sessionId);
+            resultMap.putInt("expiresIn", validitySeconds);
+            request.resolve(resultMap);
+        } catch (KeyPermanentlyInvalidatedException e) {
+            biometricKeyStore.keyInvalidated(keytag);
+            request.reject("Error opening signing session: " + e.getMessage(), "Error opening signing session");
+        } catch (Exception e) {
+            request.reject("Error opening signing session: " + e.getMessage(), "Error opening signing session");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.rnbiometrics;
+
+import android.content.ContentResolver;
+
+import com.rnbiometrics.core.Payloads;
+
+import java.security.MessageDigest;
+
+/**
+ * Computes the SHA-256 digest of a payload ahead of signing.
+ *
+ * Signing the digest with NONEwithRSA over a DigestInfo structure produces the same bytes as
+ * SHA256withRSA over the payload, so the digest can be computed while the prompt is still
+ * showing and verifiers do not change.
+ */
+class PayloadDigest {
+
+    // DER encoded DigestInfo header for SHA-256, see RFC 8017 section 9.2.
+    private static final byte[] SHA256_DIGEST_INFO_PREFIX = new byte[] {
+            0x30, 0x31, 0x30, 0x0d, 0x06, 0x09, 0x60, (byte) 0x86, 0x48, 0x01, 0x65, 0x03, 0x04, 0x02, 0x01, 0x05, 0x00, 0x04, 0x20
+    };
+
+    private PayloadDigest() {
+    }
+
+    static byte[] sha256(String payload, int type, ContentResolver contentResolver) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        if (type == CreateSignatureCallback.TYPE_URI) {
+            PayloadStream.update(digest, contentResolver, payload);
+        } else {
+            digest.update(Payloads.decode(payload, type));
+        }
+        return digest.digest();
+    }
+
+    static byte[] rsaDigestInfo(byte[] sha256) {
+        byte[] digestInfo = new byte[SHA256_DIGEST_INFO_PREFIX.length + sha256.length];
+        System.arraycopy(SHA256_DIGEST_INFO_PREFIX, 0, digestInfo, 0, SHA256_DIGEST_INFO_PREFIX.length);
+        System.arraycopy(sha256, 0, digestInfo, SHA256_DIGEST_INFO_PREFIX.length, sha256.length);
+        return digestInfo;
+    }
+}
@@ -0,0 +1,118 @@
+package com.rnbiometrics;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.Signature;
+
+/**
+ * Feeds the content of a file:// or content:// URI into a Signature or MessageDigest in
+ * fixed-size chunks.
+ *
+ * Regular files are memory-mapped one window at a time, anything else (pipes, virtual
+ * documents) is read through a single reusable buffer, so memory use does not grow with the
+ * size of the document.
+ */
+class PayloadStream {
+
+    private static final int MAP_WINDOW_SIZE = 1024 * 1024;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private PayloadStream() {
+    }
+
+    /**
+     * Receives the chunks read from the URI.
+     */
+    interface Sink {
+        void update(ByteBuffer buffer) throws Exception;
+
+        void update(byte[] buffer, int offset, int length) throws Exception;
+    }
+
+    static void update(final Signature signature, ContentResolver contentResolver, String uriString) throws Exception {
+        update(new Sink() {
+            @Override
+            public void update(ByteBuffer buffer) throws Exception {
+                signature.update(buffer);
+            }
+
+            @Override
+            public void update(byte[] buffer, int offset, int length) throws Exception {
+                signature.update(buffer, offset, length);
+            }
+        }, contentResolver, uriString);
+    }
+
+    static void update(final MessageDigest digest, ContentResolver contentResolver, String uriString) throws Exception {
+        update(new Sink() {
+            @Override
+            public void update(ByteBuffer buffer) {
+                digest.update(buffer);
+            }
+
+            @Override
+            public void update(byte[] buffer, int offset, int length) {
+                digest.update(buffer, offset, length);
+            }
+        }, contentResolver, uriString);
+    }
+
+    private static void update(Sink sink, ContentResolver contentResolver, String uriString) throws Exception {
+        Uri uri = Uri.parse(uriString);
+        ParcelFileDescriptor descriptor = null;
+        try {
+            descriptor = contentResolver.openFileDescriptor(uri, "r");
+        } catch (Exception e) {
+            // Some providers only expose streams.
+        }
+
+        if (descriptor == null) {
+            InputStream inputStream = contentResolver.openInputStream(uri);
+            if (inputStream == null) {
+                throw new IllegalArgumentException("Cannot open payload uri: " + uriString);
+            }
+            try {
+                updateFromStream(sink, inputStream);
+            } finally {
+                inputStream.close();
+            }
+            return;
+        }
+
+        FileInputStream inputStream = new FileInputStream(descriptor.getFileDescriptor());
+        try {
+            FileChannel channel = inputStream.getChannel();
+            long size = descriptor.getStatSize();
+            if (size > 0) {
+                long position = 0;
+                while (position < size) {
+                    long length = Math.min(MAP_WINDOW_SIZE, size - position);
+                    MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    sink.update(window);
+                    position += length;
+                }
+            } else {
+                updateFromStream(sink, inputStream);
+            }
+        } finally {
+            inputStream.close();
+            descriptor.close();
+        }
+    }
+
+    private static void updateFromStream(Sink sink, InputStream inputStream) throws Exception {
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            sink.update(buffer, 0, read);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.rnbiometrics;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import com.rnbiometrics.core.SignatureAlgorithms;
+
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Performs the one-time initialization of the first prompt ahead of time, on a background
+ * thread: JCA provider lookups, the AndroidKeyStore load and BiometricManager setup.
+ *
+ * Everything initialized here is cached by the JCA framework, {@link BiometricKeyStore} and
+ * {@link SensorAvailability}, so later calls find it ready. Runs at most once.
+ */
+class Prewarmer {
+
+    private final Context context;
+    private final Executor executor;
+    private final SensorAvailability sensorAvailability;
+    private final List<Promise> waiters = new ArrayList<>();
+    private boolean started;
+    private long duration = -1;
+
+    Prewarmer(Context context, Executor executor, SensorAvailability sensorAvailability) {
+        this.context = context;
+        this.executor = executor;
+        this.sensorAvailability = sensorAvailability;
+    }
+
+    /**
+     * Starts the warm-up if needed. The promise, when given, resolves with the time the warm-up
+     * took once it is done.
+     */
+    synchronized void prewarm(Promise promise) {
+        if (duration >= 0) {
+            if (promise != null) {
+                promise.resolve(result(duration));
+            }
+            return;
+        }
+        if (promise != null) {
+            waiters.add(promise);
+        }
+        if (started) {
+            return;
+        }
+        started = true;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                long start = SystemClock.elapsedRealtime();
+                try {
+                    warmUp();
+                } catch (Exception e) {
+                    // Whatever failed here is initialized again on first use.
+                }
+                finished(SystemClock.elapsedRealtime() - start);
+            }
+        });
+    }
+
+    private void warmUp() throws Exception {
+        BiometricKeyStore.getInstance(context);
+        Signature.getInstance(SignatureAlgorithms.SHA256_WITH_RSA);
+        Signature.getInstance(SignatureAlgorithms.SHA256_WITH_ECDSA);
+        Signature.getInstance(SignatureAlgorithms.NONE_WITH_RSA);
+        Signature.getInstance(SignatureAlgorithms.NONE_WITH_ECDSA);
+        KeyFactory.getInstance("RSA", "AndroidKeyStore");
+        KeyFactory.getInstance("EC", "AndroidKeyStore");
+        MessageDigest.getInstance("SHA-256");
+        sensorAvailability.getStatus(false);
+    }
+
+    private void finished(long elapsed) {
+        List<Promise> promises;
+        synchronized (this) {
+            duration = elapsed;
+            promises = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        for (Promise promise : promises) {
+            promise.resolve(result(elapsed));
+        }
+    }
+
+    private static WritableMap result(long duration) {
+        WritableMap resultMap = new WritableNativeMap();
+        resultMap.putBoolean("warm", true);
+        resultMap.putDouble("duration", duration);
+        return resultMap;
+    }
+}
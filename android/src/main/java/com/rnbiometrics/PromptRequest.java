@@ -0,0 +1,243 @@
+package com.rnbiometrics;
+
+import androidx.biometric.BiometricPrompt;
+import androidx.fragment.app.FragmentActivity;
+
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A biometric prompt waiting in the {@link PromptScheduler}.
+ *
+ * The request is settled exactly once, by its authentication callback, a cancellation, a timeout
+ * or the activity going away. Requests coalesced onto it share the result; cancelling or timing
+ * out one of them only rejects that caller, until none is left.
+ */
+public abstract class PromptRequest {
+
+    /**
+     * The promise of one request, with the promptId it can be cancelled by.
+     */
+    static final class Caller {
+        final Promise promise;
+        final String id;
+
+        Caller(Promise promise, String id) {
+            this.promise = promise;
+            this.id = id;
+        }
+    }
+
+    private final Caller caller;
+    private final List<Caller> callers = new ArrayList<>();
+    private final String coalesceKey;
+    private final long timeout;
+    private final AtomicBoolean settled = new AtomicBoolean(false);
+    private final long createdAt = System.nanoTime();
+    private volatile long shownAt;
+
+    private PromptScheduler scheduler;
+    // Set on the UI thread once shown, taken by cancel() from any thread.
+    private final AtomicReference<BiometricPrompt> biometricPrompt = new AtomicReference<>();
+
+    /**
+     * @param coalesceKey identical in-flight requests with the same key share one authentication,
+     *                    null if the request cannot be shared
+     */
+    public PromptRequest(Promise promise, ReadableMap params, String coalesceKey) {
+        String id = null;
+        if (params.hasKey("promptId") && !params.isNull("promptId")) {
+            id = params.getString("promptId");
+        }
+        this.caller = new Caller(promise, id);
+        this.callers.add(caller);
+        if (params.hasKey("timeout") && !params.isNull("timeout")) {
+            this.timeout = (long) params.getDouble("timeout");
+        } else {
+            this.timeout = 0;
+        }
+        this.coalesceKey = coalesceKey;
+    }
+
+    /**
+     * Builds and shows the prompt. Called on the UI thread; on failure the request rejects itself
+     * and returns null.
+     */
+    protected abstract BiometricPrompt show(FragmentActivity activity);
+
+    public void resolve(WritableMap result) {
+        if (!settled.compareAndSet(false, true)) {
+            return;
+        }
+        List<Caller> targets = takeCallers();
+        // A native map can only be handed to the bridge once, so copies are made up front.
+        List<WritableMap> results = new ArrayList<>(targets.size());
+        results.add(result);
+        for (int i = 1; i < targets.size(); i++) {
+            WritableMap copy = new WritableNativeMap();
+            copy.merge(result);
+            results.add(copy);
+        }
+        for (int i = 0; i < targets.size(); i++) {
+            targets.get(i).promise.resolve(results.get(i));
+        }
+        finished();
+    }
+
+    public void reject(String code, String message) {
+        rejectAll(code, message);
+    }
+
+    /**
+     * Returns whether this call settled the request.
+     */
+    private boolean rejectAll(String code, String message) {
+        if (!settled.compareAndSet(false, true)) {
+            return false;
+        }
+        for (Caller target : takeCallers()) {
+            target.promise.reject(code, message);
+        }
+        finished();
+        return true;
+    }
+
+    public boolean isSettled() {
+        return settled.get();
+    }
+
+    String getCoalesceKey() {
+        return coalesceKey;
+    }
+
+    long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * The caller that submitted this request, as opposed to those coalesced onto it.
+     */
+    Caller getCaller() {
+        return caller;
+    }
+
+    synchronized List<Caller> getCallers(String id) {
+        List<Caller> matching = new ArrayList<>();
+        for (Caller candidate : callers) {
+            if (id.equals(candidate.id)) {
+                matching.add(candidate);
+            }
+        }
+        return matching;
+    }
+
+    /**
+     * Adds the caller of an identical request. Returns false once the result is being delivered.
+     */
+    synchronized boolean join(PromptRequest other) {
+        if (isSettled()) {
+            return false;
+        }
+        callers.add(other.caller);
+        return true;
+    }
+
+    void start(FragmentActivity activity) {
+        BiometricsMetrics metrics = BiometricsMetrics.getInstance();
+        long start = System.nanoTime();
+        metrics.record(BiometricsMetrics.PROMPT_QUEUE, start - createdAt);
+        BiometricPrompt prompt = show(activity);
+        shownAt = System.nanoTime();
+        metrics.record(BiometricsMetrics.PROMPT_SHOW, shownAt - start);
+        if (prompt == null) {
+            return;
+        }
+        biometricPrompt.set(prompt);
+        if (isSettled() && biometricPrompt.compareAndSet(prompt, null)) {
+            // Cancelled while the prompt was being built, before cancel() could see it.
+            prompt.cancelAuthentication();
+        }
+    }
+
+    /**
+     * Records the user's time on the prompt. Called by the authentication callbacks.
+     */
+    public void authenticationFinished() {
+        long shown = shownAt;
+        if (shown != 0) {
+            BiometricsMetrics.getInstance().recordSince(BiometricsMetrics.AUTHENTICATION, shown);
+        }
+    }
+
+    /**
+     * Records an onAuthenticationError code. Called by the authentication callbacks. The error
+     * delivered for a request that was already cancelled is not counted again.
+     */
+    public void authenticationFailed(int errorCode) {
+        if (isSettled()) {
+            return;
+        }
+        authenticationFinished();
+        BiometricsMetrics.getInstance().error(BiometricsMetrics.AUTHENTICATION, errorCode);
+    }
+
+    void attach(PromptScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Rejects a single caller. The request itself is cancelled only when no other caller is left.
+     * Called on the UI thread.
+     */
+    void cancel(Caller target, String reason) {
+        boolean detached;
+        synchronized (this) {
+            if (isSettled() || !callers.contains(target)) {
+                return;
+            }
+            detached = callers.size() > 1;
+            if (detached) {
+                callers.remove(target);
+            }
+        }
+        if (detached) {
+            BiometricsMetrics.getInstance().error(BiometricsMetrics.PROMPT, reason);
+            target.promise.reject(reason, reason);
+        } else {
+            cancel(reason);
+        }
+    }
+
+    /**
+     * Dismisses the prompt if it is showing and rejects the request. Called on the UI thread.
+     */
+    void cancel(String reason) {
+        if (rejectAll(reason, reason)) {
+            BiometricsMetrics.getInstance().error(BiometricsMetrics.PROMPT, reason);
+        }
+        // Taken after settling, so a prompt published by start() meanwhile is not missed.
+        BiometricPrompt prompt = biometricPrompt.getAndSet(null);
+        if (prompt != null) {
+            prompt.cancelAuthentication();
+        }
+    }
+
+    private synchronized List<Caller> takeCallers() {
+        List<Caller> targets = new ArrayList<>(callers);
+        callers.clear();
+        return targets;
+    }
+
+    private void finished() {
+        if (scheduler != null) {
+            scheduler.finished(this);
+        }
+    }
+}
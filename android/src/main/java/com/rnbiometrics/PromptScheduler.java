@@ -0,0 +1,186 @@
+package com.rnbiometrics;
+
+import android.app.Activity;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.fragment.app.FragmentActivity;
+
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.UiThreadUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shows biometric prompts one at a time.
+ *
+ * Requests are queued and started in order on the UI thread once the previous prompt settled.
+ * Identical simplePrompt requests in flight are coalesced, pending and active requests can be
+ * cancelled by id or time out, each coalesced caller on its own, and everything is rejected when the activity is destroyed so no
+ * promise stays unresolved and no activity is retained.
+ */
+class PromptScheduler {
+
+    static final String CANCELLED = "Prompt cancelled";
+    static final String TIMED_OUT = "Prompt timed out";
+    static final String ACTIVITY_DESTROYED = "Activity destroyed";
+
+    private final ReactContext reactContext;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final ArrayDeque<PromptRequest> pending = new ArrayDeque<>();
+    private final Map<PromptRequest, List<Runnable>> timeouts = new HashMap<>();
+    private PromptRequest active;
+
+    PromptScheduler(ReactContext reactContext) {
+        this.reactContext = reactContext;
+    }
+
+    void submit(final PromptRequest request) {
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                enqueue(request);
+            }
+        });
+    }
+
+    /**
+     * Cancels the pending or active request with the given id. Of coalesced requests only the one
+     * with the id is rejected. The callback receives whether a request was found.
+     */
+    void cancel(final String id, final CancelCallback callback) {
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                PromptRequest request = find(id);
+                if (request != null) {
+                    for (PromptRequest.Caller caller : request.getCallers(id)) {
+                        request.cancel(caller, CANCELLED);
+                    }
+                    if (request.isSettled()) {
+                        pending.remove(request);
+                    }
+                }
+                callback.onCancelled(request != null);
+            }
+        });
+    }
+
+    void cancelAll(final String reason) {
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                List<PromptRequest> requests = new ArrayList<>(pending);
+                pending.clear();
+                if (active != null) {
+                    requests.add(active);
+                }
+                for (PromptRequest request : requests) {
+                    request.cancel(reason);
+                }
+            }
+        });
+    }
+
+    void finished(final PromptRequest request) {
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                List<Runnable> requestTimeouts = timeouts.remove(request);
+                if (requestTimeouts != null) {
+                    for (Runnable timeout : requestTimeouts) {
+                        handler.removeCallbacks(timeout);
+                    }
+                }
+                pending.remove(request);
+                if (active == request) {
+                    active = null;
+                }
+                next();
+            }
+        });
+    }
+
+    private void enqueue(final PromptRequest request) {
+        String coalesceKey = request.getCoalesceKey();
+        if (coalesceKey != null) {
+            if (active != null && coalesceKey.equals(active.getCoalesceKey()) && active.join(request)) {
+                scheduleTimeout(active, request);
+                return;
+            }
+            for (PromptRequest queued : pending) {
+                if (coalesceKey.equals(queued.getCoalesceKey()) && queued.join(request)) {
+                    scheduleTimeout(queued, request);
+                    return;
+                }
+            }
+        }
+
+        request.attach(this);
+        pending.add(request);
+        scheduleTimeout(request, request);
+        next();
+    }
+
+    /**
+     * Times out the caller of request, which may have been coalesced onto host.
+     */
+    private void scheduleTimeout(final PromptRequest host, PromptRequest request) {
+        if (request.getTimeout() <= 0) {
+            return;
+        }
+        final PromptRequest.Caller caller = request.getCaller();
+        Runnable timeout = new Runnable() {
+            @Override
+            public void run() {
+                host.cancel(caller, TIMED_OUT);
+                if (host.isSettled()) {
+                    pending.remove(host);
+                }
+            }
+        };
+        List<Runnable> hostTimeouts = timeouts.get(host);
+        if (hostTimeouts == null) {
+            hostTimeouts = new ArrayList<>();
+            timeouts.put(host, hostTimeouts);
+        }
+        hostTimeouts.add(timeout);
+        handler.postDelayed(timeout, request.getTimeout());
+    }
+
+    private void next() {
+        while (active == null && !pending.isEmpty()) {
+            PromptRequest request = pending.poll();
+            if (request.isSettled()) {
+                continue;
+            }
+            Activity activity = reactContext.getCurrentActivity();
+            if (!(activity instanceof FragmentActivity)) {
+                request.reject("No FragmentActivity available to show the prompt", "No FragmentActivity available to show the prompt");
+                continue;
+            }
+            active = request;
+            request.start((FragmentActivity) activity);
+        }
+    }
+
+    private PromptRequest find(String id) {
+        if (active != null && !active.getCallers(id).isEmpty()) {
+            return active;
+        }
+        for (PromptRequest request : pending) {
+            if (!request.getCallers(id).isEmpty()) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    interface CancelCallback {
+        void onCancelled(boolean found);
+    }
+}
@@ -1,9 +1,11 @@
 package com.rnbiometrics;
 
+import android.content.ContentResolver;
 import android.os.Build;
-import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyInfo;
+import android.security.keystore.KeyPermanentlyInvalidatedException;
 import android.security.keystore.KeyProperties;
-import android.util.Base64;
+import android.security.keystore.UserNotAuthenticatedException;
 
 import androidx.biometric.BiometricManager;
 import androidx.biometric.BiometricPrompt;
@@ -11,35 +13,84 @@ import androidx.biometric.BiometricPrompt.AuthenticationCallback;
 import androidx.biometric.BiometricPrompt.PromptInfo;
 import androidx.fragment.app.FragmentActivity;
 
+import com.facebook.react.bridge.LifecycleEventListener;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
-import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeArray;
 import com.facebook.react.bridge.WritableNativeMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
 
+import com.rnbiometrics.core.CertificationRequest;
+import com.rnbiometrics.core.SegmentedGcm;
+import com.rnbiometrics.core.SignatureAlgorithms;
+
+import java.security.InvalidKeyException;
+import java.security.KeyFactory;
 import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.KeyStore;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.security.Signature;
-import java.security.spec.RSAKeyGenParameterSpec;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
 
 /**
  * Created by brandon on 4/5/18.
  */
 
-public class ReactNativeBiometrics extends ReactContextBaseJavaModule {
+public class ReactNativeBiometrics extends ReactContextBaseJavaModule implements LifecycleEventListener {
+
+    public static final int KEY_TYPE_RSA = KeyPairFactory.KEY_TYPE_RSA;
+    public static final int KEY_TYPE_EC = KeyPairFactory.KEY_TYPE_EC;
+
+    public static final String AVAILABILITY_CHANGED_EVENT = "onBiometricAvailabilityChanged";
 
     protected String biometricKeyAlias = "biometric_key";
 
+    private final BiometricsExecutor executor;
+    // encryptFile and decryptFile stream whole files, which would hold up the shared executor.
+    private final BiometricsExecutor fileExecutor = new BiometricsExecutor(1);
+    private final KeyPool keyPool;
+    private final SensorAvailability sensorAvailability;
+    private final PromptScheduler promptScheduler;
+    private final SigningSessions signingSessions = new SigningSessions();
+    private final Prewarmer prewarmer;
+    private final SignatureVerifier signatureVerifier;
+
     public ReactNativeBiometrics(ReactApplicationContext reactContext) {
+        this(reactContext, new BiometricsExecutor());
+    }
+
+    public ReactNativeBiometrics(ReactApplicationContext reactContext, BiometricsExecutor executor) {
+        this(reactContext, executor, false);
+    }
+
+    /**
+     * @param prewarm start the background warm-up (see {@link #prewarm(Promise)}) right away
+     */
+    public ReactNativeBiometrics(ReactApplicationContext reactContext, BiometricsExecutor executor, boolean prewarm) {
         super(reactContext);
+        this.executor = executor;
+        this.keyPool = new KeyPool(reactContext);
+        this.sensorAvailability = new SensorAvailability(reactContext);
+        this.promptScheduler = new PromptScheduler(reactContext);
+        this.prewarmer = new Prewarmer(reactContext, executor, sensorAvailability);
+        this.signatureVerifier = new SignatureVerifier(reactContext);
+        reactContext.addLifecycleEventListener(this);
+        if (prewarm && isCurrentSDKMarshmallowOrLater()) {
+            prewarmer.prewarm(null);
+        }
     }
 
     @Override
@@ -47,46 +98,130 @@ public class ReactNativeBiometrics extends ReactContextBaseJavaModule {
         return "ReactNativeBiometrics";
     }
 
+    @Override
+    public void onCatalystInstanceDestroy() {
+        super.onCatalystInstanceDestroy();
+        getReactApplicationContext().removeLifecycleEventListener(this);
+        promptScheduler.cancelAll(PromptScheduler.ACTIVITY_DESTROYED);
+        executor.shutdown();
+        fileExecutor.shutdown();
+        keyPool.shutdown();
+        signatureVerifier.shutdown();
+    }
+
+    /**
+     * Loads the keystore, looks up the signature providers and sets up BiometricManager on a
+     * background thread, so the first prompt shows as fast as later ones. Resolves once done.
+     */
+    @ReactMethod
+    public void prewarm(Promise promise) {
+        if (isCurrentSDKMarshmallowOrLater()) {
+            prewarmer.prewarm(promise);
+        } else {
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putBoolean("warm", false);
+            promise.resolve(resultMap);
+        }
+    }
+
+    /**
+     * Returns latency percentiles per native operation and error counts per operation and code.
+     * See {@link BiometricsMetrics}.
+     */
+    @ReactMethod
+    public void getMetrics(Promise promise) {
+        promise.resolve(BiometricsMetrics.getInstance().toMap());
+    }
+
+    @ReactMethod
+    public void resetMetrics(Promise promise) {
+        BiometricsMetrics.getInstance().reset();
+        WritableMap resultMap = new WritableNativeMap();
+        resultMap.putBoolean("reset", true);
+        promise.resolve(resultMap);
+    }
+
+    /**
+     * Registers a native listener that receives every timing and error as it is recorded,
+     * e.g. from MainApplication to forward them to the app's telemetry. Pass null to remove it.
+     */
+    public static void setMetricsListener(BiometricsMetrics.Listener listener) {
+        BiometricsMetrics.getInstance().setListener(listener);
+    }
+
     @ReactMethod
     public void isSensorAvailable(final ReadableMap params, final Promise promise) {
         try {
-            if (isCurrentSDKMarshmallowOrLater()) {
-                boolean allowDeviceCredentials = params.getBoolean("allowDeviceCredentials");
-                ReactApplicationContext reactApplicationContext = getReactApplicationContext();
-                BiometricManager biometricManager = BiometricManager.from(reactApplicationContext);
-                int canAuthenticate = biometricManager.canAuthenticate(getAllowedAuthenticators(allowDeviceCredentials));
+            promise.resolve(getSensorAvailability(params));
+        } catch (Exception e) {
+            promise.reject("Error detecting biometrics availability: " + e.getMessage(), "Error detecting biometrics availability: " + e.getMessage());
+        }
+    }
 
-                if (canAuthenticate == BiometricManager.BIOMETRIC_SUCCESS) {
-                    WritableMap resultMap = new WritableNativeMap();
-                    resultMap.putBoolean("available", true);
-                    resultMap.putString("biometryType", "Biometrics");
-                    promise.resolve(resultMap);
-                } else {
-                    WritableMap resultMap = new WritableNativeMap();
-                    resultMap.putBoolean("available", false);
-
-                    switch (canAuthenticate) {
-                        case BiometricManager.BIOMETRIC_ERROR_NO_HARDWARE:
-                            resultMap.putString("error", "BIOMETRIC_ERROR_NO_HARDWARE");
-                            break;
-                        case BiometricManager.BIOMETRIC_ERROR_HW_UNAVAILABLE:
-                            resultMap.putString("error", "BIOMETRIC_ERROR_HW_UNAVAILABLE");
-                            break;
-                        case BiometricManager.BIOMETRIC_ERROR_NONE_ENROLLED:
-                            resultMap.putString("error", "BIOMETRIC_ERROR_NONE_ENROLLED");
-                            break;
-                    }
+    /**
+     * Synchronous variant of isSensorAvailable, callable inline from JS. Errors are reported in
+     * the result's error field.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableMap isSensorAvailableSync(final ReadableMap params) {
+        try {
+            return getSensorAvailability(params);
+        } catch (Exception e) {
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putBoolean("available", false);
+            resultMap.putString("error", "Error detecting biometrics availability: " + e.getMessage());
+            return resultMap;
+        }
+    }
 
-                    promise.resolve(resultMap);
+    private WritableMap getSensorAvailability(ReadableMap params) {
+        if (isCurrentSDKMarshmallowOrLater()) {
+            boolean allowDeviceCredentials = params.getBoolean("allowDeviceCredentials");
+            return SensorAvailability.toMap(sensorAvailability.getStatus(allowDeviceCredentials));
+        } else {
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putBoolean("available", false);
+            resultMap.putString("error", "Unsupported android version");
+            return resultMap;
+        }
+    }
+
+    @Override
+    public void onHostResume() {
+        if (!isCurrentSDKMarshmallowOrLater()) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                emitAvailabilityIfChanged(false);
+                emitAvailabilityIfChanged(true);
+            }
+        });
+    }
+
+    @Override
+    public void onHostPause() {
+    }
+
+    @Override
+    public void onHostDestroy() {
+        promptScheduler.cancelAll(PromptScheduler.ACTIVITY_DESTROYED);
+    }
+
+    private void emitAvailabilityIfChanged(boolean allowDeviceCredentials) {
+        try {
+            if (sensorAvailability.refresh(allowDeviceCredentials)) {
+                ReactApplicationContext reactContext = getReactApplicationContext();
+                if (reactContext.hasActiveCatalystInstance()) {
+                    WritableMap event = SensorAvailability.toMap(sensorAvailability.getStatus(allowDeviceCredentials));
+                    event.putBoolean("allowDeviceCredentials", allowDeviceCredentials);
+                    reactContext.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                            .emit(AVAILABILITY_CHANGED_EVENT, event);
                 }
-            } else {
-                WritableMap resultMap = new WritableNativeMap();
-                resultMap.putBoolean("available", false);
-                resultMap.putString("error", "Unsupported android version");
-                promise.resolve(resultMap);
             }
         } catch (Exception e) {
-            promise.reject("Error detecting biometrics availability: " + e.getMessage(), "Error detecting biometrics availability: " + e.getMessage());
+            // Availability is queried again on the next resume.
         }
     }
 
@@ -127,12 +262,7 @@ public class ReactNativeBiometrics extends ReactContextBaseJavaModule {
             promise.reject("keytag is empty", "keytag is empty");
         }else{
             try{
-                KeyStore keyStore = KeyStore.getInstance("AndroidKeyStore");
-                keyStore.load(null);
-                PublicKey publicKey = keyStore.getCertificate(keytag).getPublicKey();
-                byte[] encodedPublicKey = publicKey.getEncoded();
-                String publicKeyString = Base64.encodeToString(encodedPublicKey, Base64.DEFAULT);
-                publicKeyString = publicKeyString.replaceAll("\r", "").replaceAll("\n", "");
+                String publicKeyString = BiometricKeyStore.getInstance(getReactApplicationContext()).getPublicKeyString(keytag);
 
                 WritableMap resultMap = new WritableNativeMap();
                 resultMap.putString("publicKey", publicKeyString);
@@ -143,13 +273,32 @@ public class ReactNativeBiometrics extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Synchronous variant of getPublicKey served from the cached keystore state. When the key
+     * cannot be read the result has an error field instead of publicKey.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableMap getPublicKeySync(final String keytag) {
+        WritableMap resultMap = new WritableNativeMap();
+        if(keytag.isEmpty()){
+            resultMap.putString("error", "keytag is empty");
+        }else{
+            try{
+                resultMap.putString("publicKey", BiometricKeyStore.getInstance(getReactApplicationContext()).getPublicKeyString(keytag));
+            }catch (Exception ex){
+                resultMap.putString("error", "Get publickey error");
+            }
+        }
+        return resultMap;
+    }
+
     @ReactMethod
     public void createKeys(final ReadableMap params, Promise promise) {
         try {
             if (isCurrentSDKMarshmallowOrLater()) {
                 String keytag = params.getString("keytag");
                 int keytype = params.getInt("keytype");
-                if(keytype == 0){
+                if(keytype == KEY_TYPE_RSA || keytype == KEY_TYPE_EC){
                     int keysize = 2048;
                     if(keytag.isEmpty()){
                         promise.reject("keytag is empty", "keytag is empty");
@@ -159,27 +308,28 @@ public class ReactNativeBiometrics extends ReactContextBaseJavaModule {
                         if(size > 0){
                             keysize = size;
                         }
-                        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(KeyProperties.KEY_ALGORITHM_RSA, "AndroidKeyStore");
-                        KeyGenParameterSpec keyGenParameterSpec = new KeyGenParameterSpec.Builder(keytag, KeyProperties.PURPOSE_SIGN)
-                                .setDigests(KeyProperties.DIGEST_SHA256)
-                                .setSignaturePaddings(KeyProperties.SIGNATURE_PADDING_RSA_PKCS1)
-                                .setAlgorithmParameterSpec(new RSAKeyGenParameterSpec(keysize, RSAKeyGenParameterSpec.F4))
-                                .setUserAuthenticationRequired(true)
-                                .build();
-                        keyPairGenerator.initialize(keyGenParameterSpec);
-
-                        KeyPair keyPair = keyPairGenerator.generateKeyPair();
-                        PublicKey publicKey = keyPair.getPublic();
-                        byte[] encodedPublicKey = publicKey.getEncoded();
-                        String publicKeyString = Base64.encodeToString(encodedPublicKey, Base64.DEFAULT);
-                        publicKeyString = publicKeyString.replaceAll("\r", "").replaceAll("\n", "");
+                        int authValidityDuration = getAuthValidityDuration(params);
+                        boolean allowPrehash = isPrehashRequested(params);
+                        BiometricKeyStore biometricKeyStore = BiometricKeyStore.getInstance(getReactApplicationContext());
+                        PublicKey publicKey;
+                        // Pooled keys never allow prehash signing.
+                        String stagingAlias = allowPrehash ? null : keyPool.take(keytype, keysize, authValidityDuration);
+                        if (stagingAlias != null) {
+                            biometricKeyStore.promote(stagingAlias, keytag);
+                            publicKey = biometricKeyStore.getCertificate(keytag).getPublicKey();
+                        } else {
+                            KeyPair keyPair = KeyPairFactory.generate(keytag, keytype, keysize, authValidityDuration, allowPrehash);
+                            biometricKeyStore.keyCreated(keytag);
+                            publicKey = keyPair.getPublic();
+                        }
+                        String publicKeyString = biometricKeyStore.cachePublicKey(keytag, publicKey);
 
                         WritableMap resultMap = new WritableNativeMap();
                         resultMap.putString("publicKey", publicKeyString);
                         promise.resolve(resultMap);
                     }
                 }else{
-                    promise.reject("Chỉ hỗ trợ genkey rsa (keytype = 0)", "Chỉ hỗ trợ genkey rsa (keytype = 0)");
+                    promise.reject("Chỉ hỗ trợ genkey rsa (keytype = 0) và ec (keytype = 1)", "Chỉ hỗ trợ genkey rsa (keytype = 0) và ec (keytype = 1)");
                 }
             } else {
                 promise.reject("Cannot generate keys on android versions below 6.0", "Cannot generate keys on android versions below 6.0");
@@ -189,6 +339,62 @@ public class ReactNativeBiometrics extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Keeps params.size keys of the given spec generated ahead of time, so createKeys with the
+     * same keytype, keysize and authValidityDuration does not wait for key generation.
+     * A size of 0 disables the pool.
+     */
+    @ReactMethod
+    public void configureKeyPool(final ReadableMap params, Promise promise) {
+        try {
+            if (isCurrentSDKMarshmallowOrLater()) {
+                int keytype = params.getInt("keytype");
+                int size = params.getInt("size");
+                int keysize = 2048;
+                if (params.hasKey("keysize") && !params.isNull("keysize") && params.getInt("keysize") > 0) {
+                    keysize = params.getInt("keysize");
+                }
+                if (keytype != KEY_TYPE_RSA && keytype != KEY_TYPE_EC) {
+                    promise.reject("Chỉ hỗ trợ genkey rsa (keytype = 0) và ec (keytype = 1)", "Chỉ hỗ trợ genkey rsa (keytype = 0) và ec (keytype = 1)");
+                } else if (size < 0) {
+                    promise.reject("size must not be negative", "size must not be negative");
+                } else {
+                    keyPool.configure(keytype, keysize, getAuthValidityDuration(params), size);
+                    promise.resolve(getKeyPoolMetricsMap());
+                }
+            } else {
+                promise.reject("Cannot generate keys on android versions below 6.0", "Cannot generate keys on android versions below 6.0");
+            }
+        } catch (Exception e) {
+            promise.reject("Error configuring key pool: " + e.getMessage(), "Error configuring key pool");
+        }
+    }
+
+    @ReactMethod
+    public void getKeyPoolMetrics(Promise promise) {
+        promise.resolve(getKeyPoolMetricsMap());
+    }
+
+    private WritableMap getKeyPoolMetricsMap() {
+        WritableMap resultMap = new WritableNativeMap();
+        resultMap.putDouble("hits", keyPool.getHits());
+        resultMap.putDouble("misses", keyPool.getMisses());
+        resultMap.putInt("available", keyPool.getAvailable());
+        resultMap.putInt("size", keyPool.getSize());
+        return resultMap;
+    }
+
+    /**
+     * Seconds a key stays usable after the user authenticates. 0 (the default) requires
+     * authentication for every use of the key.
+     */
+    private int getAuthValidityDuration(ReadableMap params) {
+        if (params.hasKey("authValidityDuration") && !params.isNull("authValidityDuration")) {
+            return params.getInt("authValidityDuration");
+        }
+        return 0;
+    }
+
     private boolean isCurrentSDKMarshmallowOrLater() {
         return Build.VERSION.SDK_INT >= Build.VERSION_CODES.M;
     }
@@ -219,47 +425,578 @@ public class ReactNativeBiometrics extends ReactContextBaseJavaModule {
     @ReactMethod
     public void createSignature(final ReadableMap params, final Promise promise) {
         if (isCurrentSDKMarshmallowOrLater()) {
-            UiThreadUtil.runOnUiThread(
-                    new Runnable() {
-                        @Override
-                        public void run() {
+            promptScheduler.submit(new PromptRequest(promise, params, null) {
+                @Override
+                protected BiometricPrompt show(FragmentActivity fragmentActivity) {
+                    try {
+                        String promptMessage = params.getString("promptMessage");
+                        String payload = params.getString("payload");
+                        String keytag = params.getString("keytag");
+                        int type = params.getInt("type");
+                        if(keytag.isEmpty()){
+                            reject("keytag is empty","keytag is empty");
+                            return null;
+                        }
+                        String cancelButtonText = params.getString("cancelButtonText");
+                        boolean allowDeviceCredentials = params.getBoolean("allowDeviceCredentials");
+
+                        BiometricKeyStore biometricKeyStore = BiometricKeyStore.getInstance(getReactApplicationContext());
+                        ContentResolver contentResolver = getReactApplicationContext().getContentResolver();
+
+                        PrivateKey privateKey = biometricKeyStore.getPrivateKey(keytag);
+                        if (privateKey == null) {
+                            reject("No key for keytag " + keytag, "No key for keytag " + keytag);
+                            return null;
+                        }
+                        if (isTimeBoundKey(privateKey)) {
+                            // Outside its validity window initSign fails until the user authenticates,
+                            // so the key is only used after the prompt.
+                            CreateSignatureCallback authCallback = new CreateSignatureCallback(this, payload, type, contentResolver);
+                            authCallback.setTimeBoundKey(biometricKeyStore, keytag, privateKey);
+                            BiometricPrompt biometricPrompt = new BiometricPrompt(fragmentActivity, executor, authCallback);
+                            biometricPrompt.authenticate(getPromptInfo(promptMessage, cancelButtonText, allowDeviceCredentialsFor(true, allowDeviceCredentials)));
+                            return biometricPrompt;
+                        }
+
+                        Signature signature = null;
+                        FutureTask<byte[]> prehashedPayload = null;
+                        try {
+                            if (isPrehashRequested(params)) {
+                                signature = initPrehashSignature(privateKey);
+                            }
+                            if (signature != null) {
+                                prehashedPayload = new FutureTask<>(new PrehashTask(payload, type, contentResolver, privateKey.getAlgorithm()));
+                                executor.execute(prehashedPayload);
+                            } else {
+                                signature = Signature.getInstance(SignatureAlgorithms.forKey(privateKey));
+                                signature.initSign(privateKey);
+                            }
+                        } catch (KeyPermanentlyInvalidatedException e) {
+                            biometricKeyStore.keyInvalidated(keytag);
+                            throw e;
+                        }
+
+                        BiometricPrompt.CryptoObject cryptoObject = new BiometricPrompt.CryptoObject(signature);
+
+                        AuthenticationCallback authCallback = new CreateSignatureCallback(this, payload, type, contentResolver, prehashedPayload);
+                        BiometricPrompt biometricPrompt = new BiometricPrompt(fragmentActivity, executor, authCallback);
+
+                        biometricPrompt.authenticate(getPromptInfo(promptMessage, cancelButtonText, allowDeviceCredentials), cryptoObject);
+                        return biometricPrompt;
+                    } catch (Exception e) {
+                        reject("Error signing payload: " + e.getMessage(), "Error generating signature: " + e.getMessage());
+                        return null;
+                    }
+                }
+            });
+        } else {
+            promise.reject("Cannot generate keys on android versions below 6.0", "Cannot generate keys on android versions below 6.0");
+        }
+    }
+
+    /**
+     * Builds a PKCS#10 certification request for the key of params.keytag and signs it after one
+     * prompt. Resolves with {success, csr}, csr being the base64 body of the PEM request.
+     */
+    @ReactMethod
+    public void createCsr(final ReadableMap params, final Promise promise) {
+        if (isCurrentSDKMarshmallowOrLater()) {
+            String commonName = getOptionalString(params, "commonName");
+            if (commonName == null || commonName.isEmpty()) {
+                WritableMap resultMap = new WritableNativeMap();
+                resultMap.putBoolean("success", false);
+                resultMap.putString("error", "CommonName Không được để trống!");
+                promise.resolve(resultMap);
+                return;
+            }
+            final CertificationRequest certificationRequest = new CertificationRequest(commonName)
+                    .setOrganizationalUnit(getOptionalString(params, "organizationalUnit"))
+                    .setOrganization(getOptionalString(params, "organization"))
+                    .setLocality(getOptionalString(params, "locality"))
+                    .setState(getOptionalString(params, "state"))
+                    .setCountry(getOptionalString(params, "country"));
+
+            promptScheduler.submit(new PromptRequest(promise, params, null) {
+                @Override
+                protected BiometricPrompt show(FragmentActivity fragmentActivity) {
+                    try {
+                        String promptMessage = params.getString("promptMessage");
+                        String keytag = params.getString("keytag");
+                        if(keytag.isEmpty()){
+                            reject("keytag is empty","keytag is empty");
+                            return null;
+                        }
+                        String cancelButtonText = params.getString("cancelButtonText");
+                        boolean allowDeviceCredentials = params.getBoolean("allowDeviceCredentials");
+
+                        BiometricKeyStore biometricKeyStore = BiometricKeyStore.getInstance(getReactApplicationContext());
+                        byte[] info = certificationRequest.encodeInfo(biometricKeyStore.getPublicKeyBytes(keytag));
+                        PrivateKey privateKey = biometricKeyStore.getPrivateKey(keytag);
+
+                        CreateCsrCallback authCallback = new CreateCsrCallback(this, info, privateKey.getAlgorithm());
+                        BiometricPrompt biometricPrompt = new BiometricPrompt(fragmentActivity, executor, authCallback);
+                        if (isTimeBoundKey(privateKey)) {
+                            authCallback.setTimeBoundKey(biometricKeyStore, keytag, privateKey);
+                            biometricPrompt.authenticate(getPromptInfo(promptMessage, cancelButtonText, allowDeviceCredentialsFor(true, allowDeviceCredentials)));
+                            return biometricPrompt;
+                        }
+
+                        Signature signature = Signature.getInstance(SignatureAlgorithms.forKey(privateKey));
+                        try {
+                            signature.initSign(privateKey);
+                        } catch (KeyPermanentlyInvalidatedException e) {
+                            biometricKeyStore.keyInvalidated(keytag);
+                            throw e;
+                        }
+                        biometricPrompt.authenticate(getPromptInfo(promptMessage, cancelButtonText, allowDeviceCredentials), new BiometricPrompt.CryptoObject(signature));
+                        return biometricPrompt;
+                    } catch (Exception e) {
+                        reject("Error creating csr: " + e.getMessage(), "Error creating csr: " + e.getMessage());
+                        return null;
+                    }
+                }
+            });
+        } else {
+            promise.reject("Cannot generate keys on android versions below 6.0", "Cannot generate keys on android versions below 6.0");
+        }
+    }
+
+    /**
+     * Verifies params.signature over params.payload on a background thread, against the key of
+     * params.keytag or the base64 X.509 key in params.publicKey. Needs no prompt.
+     */
+    @ReactMethod
+    public void verifySignature(final ReadableMap params, final Promise promise) {
+        final SignatureVerifier.Entry entry;
+        try {
+            entry = toVerifyEntry(params);
+        } catch (Exception e) {
+            promise.reject("Error verifying signature: " + e.getMessage(), "Error verifying signature");
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                signatureVerifier.verify(entry);
+                promise.resolve(toVerifyResult(entry));
+            }
+        });
+    }
+
+    /**
+     * Verifies a list of {keytag | publicKey, payload, signature, type} entries on background
+     * cores. Resolves with {results}, one {verified, error?} per entry in input order.
+     */
+    @ReactMethod
+    public void verifySignaturesBatch(final ReadableArray entries, final Promise promise) {
+        final List<SignatureVerifier.Entry> verifyEntries = new ArrayList<>(entries.size());
+        try {
+            for (int i = 0; i < entries.size(); i++) {
+                verifyEntries.add(toVerifyEntry(entries.getMap(i)));
+            }
+        } catch (Exception e) {
+            promise.reject("Error verifying signatures: " + e.getMessage(), "Error verifying signatures");
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                signatureVerifier.verifyAll(verifyEntries);
+                WritableArray results = new WritableNativeArray();
+                for (SignatureVerifier.Entry entry : verifyEntries) {
+                    results.pushMap(toVerifyResult(entry));
+                }
+                WritableMap resultMap = new WritableNativeMap();
+                resultMap.putArray("results", results);
+                promise.resolve(resultMap);
+            }
+        });
+    }
+
+    private static SignatureVerifier.Entry toVerifyEntry(ReadableMap params) {
+        String keytag = getOptionalString(params, "keytag");
+        String publicKey = getOptionalString(params, "publicKey");
+        if ((keytag == null || keytag.isEmpty()) && (publicKey == null || publicKey.isEmpty())) {
+            throw new IllegalArgumentException("keytag or publicKey is required");
+        }
+        int type = params.hasKey("type") && !params.isNull("type") ? params.getInt("type") : CreateSignatureCallback.TYPE_STRING;
+        return new SignatureVerifier.Entry(keytag != null && !keytag.isEmpty() ? keytag : null, publicKey,
+                params.getString("payload"), params.getString("signature"), type);
+    }
+
+    private static WritableMap toVerifyResult(SignatureVerifier.Entry entry) {
+        WritableMap resultMap = new WritableNativeMap();
+        resultMap.putBoolean("verified", entry.verified);
+        if (entry.error != null) {
+            resultMap.putString("error", entry.error);
+        }
+        return resultMap;
+    }
+
+    /**
+     * Creates an AES-256-GCM key for keytag, replacing any existing key. The key can only be used
+     * through encryptFile and decryptFile, each use behind a prompt.
+     */
+    @ReactMethod
+    public void createEncryptionKey(final String keytag, Promise promise) {
+        if (!isCurrentSDKMarshmallowOrLater()) {
+            promise.reject("Cannot generate keys on android versions below 6.0", "Cannot generate keys on android versions below 6.0");
+            return;
+        }
+        if (keytag == null || keytag.isEmpty()) {
+            promise.reject("keytag is empty", "keytag is empty");
+            return;
+        }
+        try {
+            deleteBiometricKeyByKeytag(keytag);
+            KeyPairFactory.generateEncryptionKey(keytag);
+            BiometricKeyStore.getInstance(getReactApplicationContext()).keyCreated(keytag);
+
+            WritableMap resultMap = new WritableNativeMap();
+            resultMap.putBoolean("keyCreated", true);
+            promise.resolve(resultMap);
+        } catch (Exception e) {
+            promise.reject("Error generating encryption key: " + e.getMessage(), "Error generating encryption key");
+        }
+    }
+
+    /**
+     * Encrypts the content of params.source into params.destination (file:// or content:// URIs)
+     * with the encryption key of params.keytag, after one prompt.
+     */
+    @ReactMethod
+    public void encryptFile(final ReadableMap params, final Promise promise) {
+        if (!isCurrentSDKMarshmallowOrLater()) {
+            promise.reject("Cannot encrypt on android versions below 6.0", "Cannot encrypt on android versions below 6.0");
+            return;
+        }
+        if (FileCipherCallback.isSameFile(params.getString("source"), params.getString("destination"))) {
+            promise.reject("Source and destination must be different files", "Source and destination must be different files");
+            return;
+        }
+        submitFileCipherPrompt(params, promise, null);
+    }
+
+    /**
+     * Decrypts a file written by encryptFile into params.destination, after one prompt. Every
+     * segment is authenticated; on failure the destination is deleted.
+     */
+    @ReactMethod
+    public void decryptFile(final ReadableMap params, final Promise promise) {
+        if (!isCurrentSDKMarshmallowOrLater()) {
+            promise.reject("Cannot decrypt on android versions below 6.0", "Cannot decrypt on android versions below 6.0");
+            return;
+        }
+        final String source = params.getString("source");
+        if (FileCipherCallback.isSameFile(source, params.getString("destination"))) {
+            promise.reject("Source and destination must be different files", "Source and destination must be different files");
+            return;
+        }
+        // The header holds the IV needed to initialize the cipher, so it is read before the prompt.
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                SegmentedGcm.Header header;
+                try {
+                    header = FileCipherCallback.readHeader(getReactApplicationContext().getContentResolver(), source);
+                } catch (Exception e) {
+                    promise.reject("Error decrypting file: " + e.getMessage(), "Error decrypting file: " + e.getMessage());
+                    return;
+                }
+                submitFileCipherPrompt(params, promise, header);
+            }
+        });
+    }
+
+    private void submitFileCipherPrompt(final ReadableMap params, final Promise promise, final SegmentedGcm.Header header) {
+        promptScheduler.submit(new PromptRequest(promise, params, null) {
+            @Override
+            protected BiometricPrompt show(FragmentActivity fragmentActivity) {
+                try {
+                    String promptMessage = params.getString("promptMessage");
+                    String keytag = params.getString("keytag");
+                    String source = params.getString("source");
+                    String destination = params.getString("destination");
+                    if(keytag.isEmpty()){
+                        reject("keytag is empty","keytag is empty");
+                        return null;
+                    }
+                    String cancelButtonText = params.getString("cancelButtonText");
+                    boolean allowDeviceCredentials = params.getBoolean("allowDeviceCredentials");
+
+                    BiometricKeyStore biometricKeyStore = BiometricKeyStore.getInstance(getReactApplicationContext());
+                    SecretKey secretKey = biometricKeyStore.getSecretKey(keytag);
+                    Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+                    try {
+                        if (header == null) {
+                            cipher.init(Cipher.ENCRYPT_MODE, secretKey);
+                        } else {
+                            cipher.init(Cipher.DECRYPT_MODE, secretKey, new GCMParameterSpec(SegmentedGcm.TAG_SIZE * 8, header.getWrapIv()));
+                        }
+                    } catch (KeyPermanentlyInvalidatedException e) {
+                        biometricKeyStore.keyInvalidated(keytag);
+                        throw e;
+                    }
+
+                    AuthenticationCallback authCallback = new FileCipherCallback(this, fileExecutor, getReactApplicationContext().getContentResolver(), source, destination, header);
+                    BiometricPrompt biometricPrompt = new BiometricPrompt(fragmentActivity, executor, authCallback);
+                    biometricPrompt.authenticate(getPromptInfo(promptMessage, cancelButtonText, allowDeviceCredentials), new BiometricPrompt.CryptoObject(cipher));
+                    return biometricPrompt;
+                } catch (Exception e) {
+                    String message = header == null ? "Error encrypting file: " : "Error decrypting file: ";
+                    reject(message + e.getMessage(), message + e.getMessage());
+                    return null;
+                }
+            }
+        });
+    }
+
+    private static String getOptionalString(ReadableMap params, String key) {
+        return params.hasKey(key) && !params.isNull(key) ? params.getString(key) : null;
+    }
+
+    private boolean isPrehashRequested(ReadableMap params) {
+        return params.hasKey("prehash") && !params.isNull("prehash") && params.getBoolean("prehash");
+    }
+
+    /**
+     * Returns a NONEwithRSA/NONEwithECDSA signature initialized with the key, or null when the key
+     * was created without DIGEST_NONE and has to be used with its SHA-256 signature.
+     */
+    private Signature initPrehashSignature(PrivateKey privateKey) throws Exception {
+        Signature signature = Signature.getInstance(SignatureAlgorithms.prehashForKey(privateKey));
+        try {
+            signature.initSign(privateKey);
+            return signature;
+        } catch (KeyPermanentlyInvalidatedException e) {
+            throw e;
+        } catch (InvalidKeyException e) {
+            return null;
+        }
+    }
+
+    private static class PrehashTask implements Callable<byte[]> {
+        private final String payload;
+        private final int type;
+        private final ContentResolver contentResolver;
+        private final String keyAlgorithm;
+
+        PrehashTask(String payload, int type, ContentResolver contentResolver, String keyAlgorithm) {
+            this.payload = payload;
+            this.type = type;
+            this.contentResolver = contentResolver;
+            this.keyAlgorithm = keyAlgorithm;
+        }
+
+        @Override
+        public byte[] call() throws Exception {
+            byte[] sha256 = PayloadDigest.sha256(payload, type, contentResolver);
+            if (KeyProperties.KEY_ALGORITHM_EC.equals(keyAlgorithm)) {
+                return sha256;
+            }
+            return PayloadDigest.rsaDigestInfo(sha256);
+        }
+    }
+
+    @ReactMethod
+    public void createSignatures(final ReadableMap params, final Promise promise) {
+        if (isCurrentSDKMarshmallowOrLater()) {
+            promptScheduler.submit(new PromptRequest(promise, params, null) {
+                @Override
+                protected BiometricPrompt show(FragmentActivity fragmentActivity) {
+                    try {
+                        String promptMessage = params.getString("promptMessage");
+                        String keytag = params.getString("keytag");
+                        int type = params.getInt("type");
+                        ReadableArray payloadArray = params.getArray("payloads");
+                        if(keytag.isEmpty()){
+                            reject("keytag is empty","keytag is empty");
+                            return null;
+                        }
+                        if(payloadArray == null || payloadArray.size() == 0){
+                            reject("payloads is empty","payloads is empty");
+                            return null;
+                        }
+                        String cancelButtonText = params.getString("cancelButtonText");
+                        boolean allowDeviceCredentials = params.getBoolean("allowDeviceCredentials");
+
+                        List<String> payloads = new ArrayList<>(payloadArray.size());
+                        for (int i = 0; i < payloadArray.size(); i++) {
+                            payloads.add(payloadArray.getString(i));
+                        }
+
+                        BiometricKeyStore biometricKeyStore = BiometricKeyStore.getInstance(getReactApplicationContext());
+                        PrivateKey privateKey = biometricKeyStore.getPrivateKey(keytag);
+                        if (privateKey == null) {
+                            reject("No key for keytag " + keytag, "No key for keytag " + keytag);
+                            return null;
+                        }
+
+                        boolean timeBound = isTimeBoundKey(privateKey);
+                        if (!timeBound && payloads.size() > 1) {
+                            // A per-use key signs once per authentication, so only the first payload could succeed.
+                            reject("Signing more than one payload requires a key created with authValidityDuration",
+                                    "Signing more than one payload requires a key created with authValidityDuration");
+                            return null;
+                        }
+                        AuthenticationCallback authCallback = new CreateSignaturesCallback(this, biometricKeyStore, keytag, privateKey, payloads, type, getReactApplicationContext().getContentResolver());
+                        BiometricPrompt biometricPrompt = new BiometricPrompt(fragmentActivity, executor, authCallback);
+                        PromptInfo promptInfo = getPromptInfo(promptMessage, cancelButtonText, allowDeviceCredentialsFor(timeBound, allowDeviceCredentials));
+
+                        if (timeBound) {
+                            // The key stays usable for a while after authentication, so every payload
+                            // is signed after a single prompt without a CryptoObject.
+                            biometricPrompt.authenticate(promptInfo);
+                        } else {
+                            Signature signature = Signature.getInstance(SignatureAlgorithms.forKey(privateKey));
                             try {
-                                String promptMessage = params.getString("promptMessage");
-                                String payload = params.getString("payload");
-                                String keytag = params.getString("keytag");
-                                int type = params.getInt("type");
-                                if(keytag.isEmpty()){
-                                    promise.reject("keytag is empty","keytag is empty");
-                                }else{
-                                    String cancelButtonText = params.getString("cancelButtonText");
-                                    boolean allowDeviceCredentials = params.getBoolean("allowDeviceCredentials");
-
-                                    Signature signature = Signature.getInstance("SHA256withRSA");
-                                    KeyStore keyStore = KeyStore.getInstance("AndroidKeyStore");
-                                    keyStore.load(null);
-
-                                    PrivateKey privateKey = (PrivateKey) keyStore.getKey(keytag, null);
-                                    signature.initSign(privateKey);
-
-                                    BiometricPrompt.CryptoObject cryptoObject = new BiometricPrompt.CryptoObject(signature);
-
-                                    AuthenticationCallback authCallback = new CreateSignatureCallback(promise, payload, type);
-                                    FragmentActivity fragmentActivity = (FragmentActivity) getCurrentActivity();
-                                    Executor executor = Executors.newSingleThreadExecutor();
-                                    BiometricPrompt biometricPrompt = new BiometricPrompt(fragmentActivity, executor, authCallback);
-
-                                    biometricPrompt.authenticate(getPromptInfo(promptMessage, cancelButtonText, allowDeviceCredentials), cryptoObject);
-                                }
-                            } catch (Exception e) {
-                                promise.reject("Error signing payload: " + e.getMessage(), "Error generating signature: " + e.getMessage());
+                                signature.initSign(privateKey);
+                            } catch (KeyPermanentlyInvalidatedException e) {
+                                biometricKeyStore.keyInvalidated(keytag);
+                                throw e;
                             }
+                            biometricPrompt.authenticate(promptInfo, new BiometricPrompt.CryptoObject(signature));
                         }
-                    });
+                        return biometricPrompt;
+                    } catch (Exception e) {
+                        reject("Error signing payloads: " + e.getMessage(), "Error generating signatures: " + e.getMessage());
+                        return null;
+                    }
+                }
+            });
         } else {
             promise.reject("Cannot generate keys on android versions below 6.0", "Cannot generate keys on android versions below 6.0");
         }
     }
 
+    /**
+     * Opens a signing session on a key created with authValidityDuration. After one prompt,
+     * signWithSession signs without UI until the key's validity window expires.
+     */
+    @ReactMethod
+    public void openSigningSession(final ReadableMap params, final Promise promise) {
+        if (isCurrentSDKMarshmallowOrLater()) {
+            promptScheduler.submit(new PromptRequest(promise, params, null) {
+                @Override
+                protected BiometricPrompt show(FragmentActivity fragmentActivity) {
+                    try {
+                        String promptMessage = params.getString("promptMessage");
+                        String keytag = params.getString("keytag");
+                        if(keytag.isEmpty()){
+                            reject("keytag is empty","keytag is empty");
+                            return null;
+                        }
+                        String cancelButtonText = params.getString("cancelButtonText");
+                        boolean allowDeviceCredentials = params.getBoolean("allowDeviceCredentials");
+
+                        BiometricKeyStore biometricKeyStore = BiometricKeyStore.getInstance(getReactApplicationContext());
+                        PrivateKey privateKey = biometricKeyStore.getPrivateKey(keytag);
+                        if (privateKey == null) {
+                            reject("No key for keytag " + keytag, "No key for keytag " + keytag);
+                            return null;
+                        }
+                        int validitySeconds = getAuthValidityDuration(privateKey);
+                        if (validitySeconds <= 0) {
+                            reject("Key was not created with authValidityDuration", "Key was not created with authValidityDuration");
+                            return null;
+                        }
+
+                        AuthenticationCallback authCallback = new OpenSigningSessionCallback(this, signingSessions, biometricKeyStore, keytag, privateKey, validitySeconds);
+                        BiometricPrompt biometricPrompt = new BiometricPrompt(fragmentActivity, executor, authCallback);
+
+                        biometricPrompt.authenticate(getPromptInfo(promptMessage, cancelButtonText, allowDeviceCredentialsFor(true, allowDeviceCredentials)));
+                        return biometricPrompt;
+                    } catch (Exception e) {
+                        reject("Error opening signing session: " + e.getMessage(), "Error opening signing session: " + e.getMessage());
+                        return null;
+                    }
+                }
+            });
+        } else {
+            promise.reject("Cannot generate keys on android versions below 6.0", "Cannot generate keys on android versions below 6.0");
+        }
+    }
+
+    /**
+     * Signs params.payload with an open session on a background thread, without showing UI.
+     */
+    @ReactMethod
+    public void signWithSession(final ReadableMap params, final Promise promise) {
+        final String sessionId = params.getString("sessionId");
+        final String payload = params.getString("payload");
+        final int type = params.getInt("type");
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                SigningSessions.Session session = signingSessions.get(sessionId);
+                if (session == null) {
+                    promise.reject("Signing session expired", "Signing session expired");
+                    return;
+                }
+                try {
+                    String signedString;
+                    long start = System.nanoTime();
+                    synchronized (session) {
+                        signedString = CreateSignatureCallback.sign(session.signature, payload, type, getReactApplicationContext().getContentResolver());
+                    }
+                    BiometricsMetrics.getInstance().recordSince(BiometricsMetrics.SIGN, start);
+                    WritableMap resultMap = new WritableNativeMap();
+                    resultMap.putBoolean("success", true);
+                    resultMap.putString("signature", signedString);
+                    promise.resolve(resultMap);
+                } catch (Exception e) {
+                    BiometricsMetrics.getInstance().error(BiometricsMetrics.SIGN, e.getClass().getSimpleName());
+                    // The keystore reports an expired window or an invalidated key as the cause
+                    // of a SignatureException.
+                    if (isCausedBy(e, UserNotAuthenticatedException.class)) {
+                        signingSessions.close(sessionId);
+                        promise.reject("Signing session expired", "Signing session expired");
+                        return;
+                    }
+                    if (isCausedBy(e, KeyPermanentlyInvalidatedException.class)) {
+                        deleteBiometricKeyByKeytag(session.keytag);
+                    }
+                    promise.reject("Error signing payload: " + e.getMessage(), "Error generating signature: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    private static boolean isCausedBy(Throwable throwable, Class<? extends Throwable> type) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @ReactMethod
+    public void closeSigningSession(final String sessionId, Promise promise) {
+        WritableMap resultMap = new WritableNativeMap();
+        resultMap.putBoolean("closed", signingSessions.close(sessionId));
+        promise.resolve(resultMap);
+    }
+
+    private boolean isTimeBoundKey(PrivateKey privateKey) throws Exception {
+        return getAuthValidityDuration(privateKey) > 0;
+    }
+
+    private int getAuthValidityDuration(PrivateKey privateKey) throws Exception {
+        KeyFactory keyFactory = KeyFactory.getInstance(privateKey.getAlgorithm(), "AndroidKeyStore");
+        KeyInfo keyInfo = keyFactory.getKeySpec(privateKey, KeyInfo.class);
+        return keyInfo.getUserAuthenticationValidityDurationSeconds();
+    }
+
+    /**
+     * On Android 11+ keys with a validity window only accept AUTH_BIOMETRIC_STRONG, so a device
+     * credential would complete the prompt without unlocking the key. Their prompts are
+     * biometric-only there.
+     */
+    private static boolean allowDeviceCredentialsFor(boolean timeBound, boolean allowDeviceCredentials) {
+        return allowDeviceCredentials && (!timeBound || isCurrentSDK29OrEarlier());
+    }
+
     private PromptInfo getPromptInfo(String promptMessage, String cancelButtonText, boolean allowDeviceCredentials) {
         PromptInfo.Builder builder = new PromptInfo.Builder().setTitle(promptMessage);
 
@@ -272,45 +1009,61 @@ public class ReactNativeBiometrics extends ReactContextBaseJavaModule {
         return builder.build();
     }
 
-    private int getAllowedAuthenticators(boolean allowDeviceCredentials) {
+    static int getAllowedAuthenticators(boolean allowDeviceCredentials) {
         if (allowDeviceCredentials && !isCurrentSDK29OrEarlier()) {
             return BiometricManager.Authenticators.BIOMETRIC_STRONG | BiometricManager.Authenticators.DEVICE_CREDENTIAL;
         }
         return BiometricManager.Authenticators.BIOMETRIC_STRONG;
     }
 
-    private boolean isCurrentSDK29OrEarlier() {
+    private static boolean isCurrentSDK29OrEarlier() {
         return Build.VERSION.SDK_INT <= Build.VERSION_CODES.Q;
     }
 
     @ReactMethod
     public void simplePrompt(final ReadableMap params, final Promise promise) {
         if (isCurrentSDKMarshmallowOrLater()) {
-            UiThreadUtil.runOnUiThread(
-                    new Runnable() {
-                        @Override
-                        public void run() {
-                            try {
-                                String promptMessage = params.getString("promptMessage");
-                                String cancelButtonText = params.getString("cancelButtonText");
-                                boolean allowDeviceCredentials = params.getBoolean("allowDeviceCredentials");
-
-                                AuthenticationCallback authCallback = new SimplePromptCallback(promise);
-                                FragmentActivity fragmentActivity = (FragmentActivity) getCurrentActivity();
-                                Executor executor = Executors.newSingleThreadExecutor();
-                                BiometricPrompt biometricPrompt = new BiometricPrompt(fragmentActivity, executor, authCallback);
-
-                                biometricPrompt.authenticate(getPromptInfo(promptMessage, cancelButtonText, allowDeviceCredentials));
-                            } catch (Exception e) {
-                                promise.reject("Error displaying local biometric prompt: " + e.getMessage(), "Error displaying local biometric prompt: " + e.getMessage());
-                            }
-                        }
-                    });
+            final String promptMessage = params.getString("promptMessage");
+            final String cancelButtonText = params.getString("cancelButtonText");
+            final boolean allowDeviceCredentials = params.getBoolean("allowDeviceCredentials");
+            String coalesceKey = "simplePrompt\n" + promptMessage + "\n" + cancelButtonText + "\n" + allowDeviceCredentials;
+
+            promptScheduler.submit(new PromptRequest(promise, params, coalesceKey) {
+                @Override
+                protected BiometricPrompt show(FragmentActivity fragmentActivity) {
+                    try {
+                        AuthenticationCallback authCallback = new SimplePromptCallback(this);
+                        BiometricPrompt biometricPrompt = new BiometricPrompt(fragmentActivity, executor, authCallback);
+
+                        biometricPrompt.authenticate(getPromptInfo(promptMessage, cancelButtonText, allowDeviceCredentials));
+                        return biometricPrompt;
+                    } catch (Exception e) {
+                        reject("Error displaying local biometric prompt: " + e.getMessage(), "Error displaying local biometric prompt: " + e.getMessage());
+                        return null;
+                    }
+                }
+            });
         } else {
             promise.reject("Cannot display biometric prompt on android versions below 6.0", "Cannot display biometric prompt on android versions below 6.0");
         }
     }
 
+    /**
+     * Cancels the queued or showing prompt started with params.promptId. Its promise is rejected
+     * with "Prompt cancelled".
+     */
+    @ReactMethod
+    public void cancelPrompt(final String promptId, final Promise promise) {
+        promptScheduler.cancel(promptId, new PromptScheduler.CancelCallback() {
+            @Override
+            public void onCancelled(boolean found) {
+                WritableMap resultMap = new WritableNativeMap();
+                resultMap.putBoolean("cancelled", found);
+                promise.resolve(resultMap);
+            }
+        });
+    }
+
     @ReactMethod
     public void biometricKeysExist(final String keytag, Promise promise) {
         if(keytag.isEmpty()){
@@ -327,36 +1080,107 @@ public class ReactNativeBiometrics extends ReactContextBaseJavaModule {
         }
     }
 
+    /**
+     * Synchronous variant of biometricKeysExist answered from the in-memory alias index.
+     */
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableMap biometricKeysExistSync(final String keytag) {
+        WritableMap resultMap = new WritableNativeMap();
+        resultMap.putBoolean("keysExist", !keytag.isEmpty() && doesBiometricKeyExist(keytag));
+        return resultMap;
+    }
+
+    /**
+     * Lists the keytags starting with prefix. The alias index is rebuilt from a single keystore
+     * pass first, so keys created or removed outside the module are reflected.
+     */
+    @ReactMethod
+    public void listKeys(final String prefix, final Promise promise) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    BiometricKeyStore biometricKeyStore = BiometricKeyStore.getInstance(getReactApplicationContext());
+                    biometricKeyStore.reloadAliases();
+                    WritableArray keys = new WritableNativeArray();
+                    for (String keytag : biometricKeyStore.keytagsWithPrefix(prefix)) {
+                        keys.pushString(keytag);
+                    }
+                    WritableMap resultMap = new WritableNativeMap();
+                    resultMap.putArray("keys", keys);
+                    promise.resolve(resultMap);
+                } catch (Exception e) {
+                    promise.reject("Error listing keys: " + e.getMessage(), "Error listing keys: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Deletes every keytag and resolves to a map of keytag to whether a key was deleted.
+     */
+    @ReactMethod
+    public void deleteKeysBatch(final ReadableArray keytags, final Promise promise) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    WritableMap results = new WritableNativeMap();
+                    for (int i = 0; i < keytags.size(); i++) {
+                        String keytag = keytags.getString(i);
+                        results.putBoolean(keytag, !keytag.isEmpty() && doesBiometricKeyExist(keytag) && deleteBiometricKeyByKeytag(keytag));
+                    }
+                    WritableMap resultMap = new WritableNativeMap();
+                    resultMap.putMap("results", results);
+                    promise.resolve(resultMap);
+                } catch (Exception e) {
+                    promise.reject("Error deleting keys: " + e.getMessage(), "Error deleting keys: " + e.getMessage());
+                }
+            }
+        });
+    }
+
+    /**
+     * Resolves to a map of keytag to whether a key exists for it.
+     */
+    @ReactMethod
+    public void keysExistBatch(final ReadableArray keytags, final Promise promise) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    WritableMap results = new WritableNativeMap();
+                    for (int i = 0; i < keytags.size(); i++) {
+                        String keytag = keytags.getString(i);
+                        results.putBoolean(keytag, !keytag.isEmpty() && doesBiometricKeyExist(keytag));
+                    }
+                    WritableMap resultMap = new WritableNativeMap();
+                    resultMap.putMap("results", results);
+                    promise.resolve(resultMap);
+                } catch (Exception e) {
+                    promise.reject("Error checking keys: " + e.getMessage(), "Error checking keys: " + e.getMessage());
+                }
+            }
+        });
+    }
+
     protected boolean doesBiometricKeyExist(String keytag) {
         try {
-            KeyStore keyStore = KeyStore.getInstance("AndroidKeyStore");
-            keyStore.load(null);
-
-            return keyStore.containsAlias(keytag);
+            return BiometricKeyStore.getInstance(getReactApplicationContext()).containsAlias(keytag);
         } catch (Exception e) {
             return false;
         }
     }
 
     protected boolean deleteBiometricKey() {
-        try {
-            KeyStore keyStore = KeyStore.getInstance("AndroidKeyStore");
-            keyStore.load(null);
-
-            keyStore.deleteEntry(biometricKeyAlias);
-            return true;
-        } catch (Exception e) {
-            return false;
-        }
+        return deleteBiometricKeyByKeytag(biometricKeyAlias);
     }
 
     protected boolean deleteBiometricKeyByKeytag(String key) {
+        signingSessions.closeAll(key);
+        signatureVerifier.invalidate(key);
         try {
-            KeyStore keyStore = KeyStore.getInstance("AndroidKeyStore");
-            keyStore.load(null);
-
-            keyStore.deleteEntry(key);
-            return true;
+            return BiometricKeyStore.getInstance(getReactApplicationContext()).deleteEntry(key);
         } catch (Exception e) {
             return false;
         }
@@ -14,6 +14,31 @@ import java.util.List;
  */
 
 public class ReactNativeBiometricsPackage implements ReactPackage {
+
+    private final int callbackPoolSize;
+    private final boolean prewarm;
+
+    public ReactNativeBiometricsPackage() {
+        this(BiometricsExecutor.DEFAULT_POOL_SIZE);
+    }
+
+    /**
+     * @param callbackPoolSize maximum number of threads used to deliver biometric prompt callbacks
+     */
+    public ReactNativeBiometricsPackage(int callbackPoolSize) {
+        this(callbackPoolSize, false);
+    }
+
+    /**
+     * @param callbackPoolSize maximum number of threads used to deliver biometric prompt callbacks
+     * @param prewarm          initialize the keystore, signature providers and BiometricManager on a
+     *                         background thread as soon as the module is created
+     */
+    public ReactNativeBiometricsPackage(int callbackPoolSize, boolean prewarm) {
+        this.callbackPoolSize = callbackPoolSize;
+        this.prewarm = prewarm;
+    }
+
     @Override
     public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
         return Collections.emptyList();
@@ -24,7 +49,7 @@ public class ReactNativeBiometricsPackage implements ReactPackage {
             ReactApplicationContext reactContext) {
         List<NativeModule> modules = new ArrayList<>();
 
-        modules.add(new ReactNativeBiometrics(reactContext));
+        modules.add(new ReactNativeBiometrics(reactContext, new BiometricsExecutor(callbackPoolSize), prewarm));
 
         return modules;
     }
@@ -0,0 +1,90 @@
+package com.rnbiometrics;
+
+import android.content.Context;
+
+import androidx.biometric.BiometricManager;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.WritableNativeMap;
+
+/**
+ * Caches the result of BiometricManager.canAuthenticate per allowDeviceCredentials value.
+ *
+ * The cache is refreshed by the module when the app comes back to the foreground, which is when
+ * enrollment or hardware state may have changed.
+ */
+class SensorAvailability {
+
+    private final Context context;
+    private final Integer[] statuses = new Integer[2];
+    private BiometricManager biometricManager;
+
+    SensorAvailability(Context context) {
+        this.context = context;
+    }
+
+    synchronized int getStatus(boolean allowDeviceCredentials) {
+        int index = allowDeviceCredentials ? 1 : 0;
+        if (statuses[index] == null) {
+            statuses[index] = query(allowDeviceCredentials);
+        }
+        return statuses[index];
+    }
+
+    /**
+     * Re-queries the cached entries and returns whether the entry for allowDeviceCredentials
+     * changed. Entries that were never requested stay empty.
+     */
+    synchronized boolean refresh(boolean allowDeviceCredentials) {
+        int index = allowDeviceCredentials ? 1 : 0;
+        if (statuses[index] == null) {
+            return false;
+        }
+        int status = query(allowDeviceCredentials);
+        boolean changed = status != statuses[index];
+        statuses[index] = status;
+        return changed;
+    }
+
+    private int query(boolean allowDeviceCredentials) {
+        if (biometricManager == null) {
+            biometricManager = BiometricManager.from(context);
+        }
+        return biometricManager.canAuthenticate(ReactNativeBiometrics.getAllowedAuthenticators(allowDeviceCredentials));
+    }
+
+    static WritableMap toMap(int canAuthenticate) {
+        WritableMap resultMap = new WritableNativeMap();
+        if (canAuthenticate == BiometricManager.BIOMETRIC_SUCCESS) {
+            resultMap.putBoolean("available", true);
+            resultMap.putString("biometryType", "Biometrics");
+            return resultMap;
+        }
+
+        resultMap.putBoolean("available", false);
+        switch (canAuthenticate) {
+            case BiometricManager.BIOMETRIC_ERROR_NO_HARDWARE:
+                resultMap.putString("error", "BIOMETRIC_ERROR_NO_HARDWARE");
+                break;
+            case BiometricManager.BIOMETRIC_ERROR_HW_UNAVAILABLE:
+                resultMap.putString("error", "BIOMETRIC_ERROR_HW_UNAVAILABLE");
+                break;
+            case BiometricManager.BIOMETRIC_ERROR_NONE_ENROLLED:
+                resultMap.putString("error", "BIOMETRIC_ERROR_NONE_ENROLLED");
+                break;
+            case BiometricManager.BIOMETRIC_ERROR_SECURITY_UPDATE_REQUIRED:
+                resultMap.putString("error", "BIOMETRIC_ERROR_SECURITY_UPDATE_REQUIRED");
+                break;
+            case BiometricManager.BIOMETRIC_ERROR_UNSUPPORTED:
+                resultMap.putString("error", "BIOMETRIC_ERROR_UNSUPPORTED");
+                break;
+            case BiometricManager.BIOMETRIC_STATUS_UNKNOWN:
+                resultMap.putString("error", "BIOMETRIC_STATUS_UNKNOWN");
+                break;
+            default:
+                resultMap.putString("error", "BIOMETRIC_ERROR_" + canAuthenticate);
+                break;
+        }
+        return resultMap;
+    }
+}
@@ -0,0 +1,200 @@
+package com.rnbiometrics;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.os.Build;
+
+import com.rnbiometrics.core.Base64Codec;
+import com.rnbiometrics.core.Payloads;
+import com.rnbiometrics.core.SignatureAlgorithms;
+
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Verifies signatures against stored keys or base64 X.509 public keys.
+ *
+ * Parsed keys are kept in a small LRU cache keyed by keytag or by encoded key, so repeated
+ * verifications against the same key skip the keystore and the key parsing. Keys from the
+ * keystore are re-parsed into software keys, so verification never goes through keystore IPC.
+ *
+ * Batches are split across a fork-join pool sized to the device's cores (API 21+) and verified
+ * sequentially on older versions.
+ */
+class SignatureVerifier {
+
+    private static final int CACHE_SIZE = 64;
+    private static final int BATCH_THRESHOLD = 32;
+    private static final String KEYTAG_PREFIX = "keytag:";
+    private static final String KEY_PREFIX = "key:";
+
+    private final Context context;
+    private final Map<String, PublicKey> publicKeys = new LinkedHashMap<String, PublicKey>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PublicKey> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private ForkJoinPool forkJoinPool;
+
+    SignatureVerifier(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * A signature to verify. Exactly one of keytag and publicKey is set.
+     */
+    static class Entry {
+        final String keytag;
+        final String publicKey;
+        final String payload;
+        final String signature;
+        final int type;
+        boolean verified;
+        String error;
+
+        Entry(String keytag, String publicKey, String payload, String signature, int type) {
+            this.keytag = keytag;
+            this.publicKey = publicKey;
+            this.payload = payload;
+            this.signature = signature;
+            this.type = type;
+        }
+    }
+
+    /**
+     * Verifies entry and stores the outcome in it. Failures, e.g. a missing key or a malformed
+     * signature, are reported as not verified with an error.
+     */
+    void verify(Entry entry) {
+        try {
+            PublicKey publicKey = entry.keytag != null ? getStoredKey(entry.keytag) : getKey(entry.publicKey);
+            Signature signature = Signature.getInstance(SignatureAlgorithms.forKey(publicKey));
+            signature.initVerify(publicKey);
+            if (entry.type == Payloads.TYPE_URI) {
+                ContentResolver contentResolver = context.getContentResolver();
+                PayloadStream.update(signature, contentResolver, entry.payload);
+            } else {
+                signature.update(Payloads.decode(entry.payload, entry.type));
+            }
+            entry.verified = signature.verify(Base64Codec.decode(entry.signature));
+        } catch (Exception e) {
+            entry.verified = false;
+            entry.error = "Error verifying signature: " + e.getMessage();
+        }
+    }
+
+    void verifyAll(List<Entry> entries) {
+        if (entries.size() > BATCH_THRESHOLD && Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            getForkJoinPool().invoke(new VerifyAction(this, entries, 0, entries.size()));
+        } else {
+            for (Entry entry : entries) {
+                verify(entry);
+            }
+        }
+    }
+
+    /**
+     * Drops the cached key of keytag. Called whenever the key behind it is deleted or replaced.
+     */
+    void invalidate(String keytag) {
+        synchronized (publicKeys) {
+            publicKeys.remove(KEYTAG_PREFIX + keytag);
+        }
+    }
+
+    synchronized void shutdown() {
+        if (forkJoinPool != null) {
+            forkJoinPool.shutdown();
+            forkJoinPool = null;
+        }
+    }
+
+    private PublicKey getStoredKey(String keytag) throws Exception {
+        BiometricKeyStore biometricKeyStore = BiometricKeyStore.getInstance(context);
+        if (!biometricKeyStore.containsAlias(keytag)) {
+            invalidate(keytag);
+            throw new IllegalStateException("No key for keytag " + keytag);
+        }
+        String cacheKey = KEYTAG_PREFIX + keytag;
+        PublicKey publicKey;
+        synchronized (publicKeys) {
+            publicKey = publicKeys.get(cacheKey);
+        }
+        if (publicKey == null) {
+            publicKey = parse(biometricKeyStore.getPublicKeyBytes(keytag));
+            synchronized (publicKeys) {
+                publicKeys.put(cacheKey, publicKey);
+            }
+        }
+        return publicKey;
+    }
+
+    private PublicKey getKey(String encodedPublicKey) throws Exception {
+        String cacheKey = KEY_PREFIX + encodedPublicKey;
+        PublicKey publicKey;
+        synchronized (publicKeys) {
+            publicKey = publicKeys.get(cacheKey);
+        }
+        if (publicKey == null) {
+            publicKey = parse(Base64Codec.decode(encodedPublicKey));
+            synchronized (publicKeys) {
+                publicKeys.put(cacheKey, publicKey);
+            }
+        }
+        return publicKey;
+    }
+
+    private static PublicKey parse(byte[] subjectPublicKeyInfo) throws Exception {
+        X509EncodedKeySpec keySpec = new X509EncodedKeySpec(subjectPublicKeyInfo);
+        try {
+            return KeyFactory.getInstance("RSA").generatePublic(keySpec);
+        } catch (Exception e) {
+            return KeyFactory.getInstance("EC").generatePublic(keySpec);
+        }
+    }
+
+    private synchronized ForkJoinPool getForkJoinPool() {
+        if (forkJoinPool == null) {
+            forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return forkJoinPool;
+    }
+
+    /**
+     * Splits a range of entries in halves until it is small enough to verify in one task.
+     */
+    private static class VerifyAction extends RecursiveAction {
+        private final SignatureVerifier verifier;
+        private final List<Entry> entries;
+        private final int from;
+        private final int to;
+
+        VerifyAction(SignatureVerifier verifier, List<Entry> entries, int from, int to) {
+            this.verifier = verifier;
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    verifier.verify(entries.get(i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new VerifyAction(verifier, entries, from, middle),
+                    new VerifyAction(verifier, entries, middle, to));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.rnbiometrics;
+
+import android.os.SystemClock;
+
+import com.rnbiometrics.core.SignatureAlgorithms;
+
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Signing sessions opened on keys created with an authentication validity duration.
+ *
+ * After one successful prompt the key can sign without further UI until the window expires, so a
+ * session keeps one initialized Signature and reuses it for every payload.
+ */
+class SigningSessions {
+
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    static class Session {
+        final String keytag;
+        final Signature signature;
+        final long expiresAt;
+
+        Session(String keytag, Signature signature, long expiresAt) {
+            this.keytag = keytag;
+            this.signature = signature;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return SystemClock.elapsedRealtime() >= expiresAt;
+        }
+    }
+
+    /**
+     * Opens a session right after authentication. The signature must be initialized now, while
+     * the authentication is still valid.
+     */
+    String open(String keytag, PrivateKey privateKey, int validitySeconds) throws Exception {
+        Signature signature = Signature.getInstance(SignatureAlgorithms.forKey(privateKey));
+        signature.initSign(privateKey);
+        String sessionId = UUID.randomUUID().toString();
+        sessions.put(sessionId, new Session(keytag, signature, SystemClock.elapsedRealtime() + validitySeconds * 1000L));
+        return sessionId;
+    }
+
+    /**
+     * Returns the live session with the id, or null if it does not exist or expired.
+     */
+    Session get(String sessionId) {
+        Session session = sessions.get(sessionId);
+        if (session != null && session.isExpired()) {
+            sessions.remove(sessionId);
+            return null;
+        }
+        return session;
+    }
+
+    boolean close(String sessionId) {
+        return sessions.remove(sessionId) != null;
+    }
+
+    void closeAll(String keytag) {
+        Iterator<Session> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().keytag.equals(keytag)) {
+                iterator.remove();
+            }
+        }
+    }
+}
@@ -3,37 +3,38 @@ package com.rnbiometrics;
 import androidx.annotation.NonNull;
 import androidx.biometric.BiometricPrompt;
 
-import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeMap;
 
 public class SimplePromptCallback extends BiometricPrompt.AuthenticationCallback {
-    private Promise promise;
+    private PromptRequest request;
 
-    public SimplePromptCallback(Promise promise) {
+    public SimplePromptCallback(PromptRequest request) {
         super();
-        this.promise = promise;
+        this.request = request;
     }
 
     @Override
     public void onAuthenticationError(int errorCode, @NonNull CharSequence errString) {
         super.onAuthenticationError(errorCode, errString);
+        request.authenticationFailed(errorCode);
         if (errorCode == BiometricPrompt.ERROR_NEGATIVE_BUTTON || errorCode == BiometricPrompt.ERROR_USER_CANCELED) {
             WritableMap resultMap = new WritableNativeMap();
             resultMap.putBoolean("success", false);
             resultMap.putString("error", "User cancellation");
-            this.promise.resolve(resultMap);
+            this.request.resolve(resultMap);
         } else {
-            this.promise.reject(errString.toString(), errString.toString());
+            this.request.reject(errString.toString(), errString.toString());
         }
     }
 
     @Override
     public void onAuthenticationSucceeded(@NonNull BiometricPrompt.AuthenticationResult result) {
         super.onAuthenticationSucceeded(result);
+        request.authenticationFinished();
 
         WritableMap resultMap = new WritableNativeMap();
         resultMap.putBoolean("success", true);
-        this.promise.resolve(resultMap);
+        this.request.resolve(resultMap);
     }
 }
@@ -0,0 +1,110 @@
+package com.rnbiometrics.core;
+
+/**
+ * Standard-alphabet base64, usable on a plain JVM and on every Android version the module
+ * supports (java.util.Base64 needs API 26).
+ *
+ * Decoding matches android.util.Base64.decode(s, DEFAULT): characters outside the alphabet,
+ * such as line breaks, are skipped and padding is optional, but padding that is present must be
+ * complete and may only be followed by skipped characters. Encoding matches NO_WRAP.
+ */
+public final class Base64Codec {
+
+    private static final char[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".toCharArray();
+    private static final int[] DECODE = new int[128];
+
+    static {
+        for (int i = 0; i < DECODE.length; i++) {
+            DECODE[i] = -1;
+        }
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = i;
+        }
+    }
+
+    private Base64Codec() {
+    }
+
+    /**
+     * @throws IllegalArgumentException on incomplete input, misplaced padding or data after
+     *                                  padding
+     */
+    public static byte[] decode(String input) {
+        byte[] output = new byte[input.length() * 3 / 4];
+        int length = 0;
+        int quantum = 0;
+        int count = 0;
+        // 0 while reading data, 1 after a first '=' that needs a second one, 2 after padding.
+        int padding = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            int value = c < DECODE.length ? DECODE[c] : -1;
+            if (c == '=') {
+                if (padding == 1) {
+                    padding = 2;
+                } else if (padding == 0 && count == 3) {
+                    padding = 2;
+                } else if (padding == 0 && count == 2) {
+                    padding = 1;
+                } else {
+                    throw new IllegalArgumentException("bad base-64");
+                }
+                continue;
+            }
+            if (value < 0) {
+                continue;
+            }
+            if (padding != 0) {
+                throw new IllegalArgumentException("bad base-64");
+            }
+            quantum = (quantum << 6) | value;
+            if (++count == 4) {
+                output[length++] = (byte) (quantum >> 16);
+                output[length++] = (byte) (quantum >> 8);
+                output[length++] = (byte) quantum;
+                quantum = 0;
+                count = 0;
+            }
+        }
+        if (count == 1 || padding == 1) {
+            throw new IllegalArgumentException("bad base-64");
+        } else if (count == 2) {
+            output[length++] = (byte) (quantum >> 4);
+        } else if (count == 3) {
+            output[length++] = (byte) (quantum >> 10);
+            output[length++] = (byte) (quantum >> 2);
+        }
+        if (length == output.length) {
+            return output;
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(output, 0, result, 0, length);
+        return result;
+    }
+
+    public static String encode(byte[] input) {
+        char[] output = new char[(input.length + 2) / 3 * 4];
+        int o = 0;
+        int i = 0;
+        for (; i + 2 < input.length; i += 3) {
+            int quantum = (input[i] & 0xff) << 16 | (input[i + 1] & 0xff) << 8 | (input[i + 2] & 0xff);
+            output[o++] = ALPHABET[quantum >> 18];
+            output[o++] = ALPHABET[(quantum >> 12) & 0x3f];
+            output[o++] = ALPHABET[(quantum >> 6) & 0x3f];
+            output[o++] = ALPHABET[quantum & 0x3f];
+        }
+        int remaining = input.length - i;
+        if (remaining > 0) {
+            int quantum = (input[i] & 0xff) << 16;
+            if (remaining == 2) {
+                quantum |= (input[i + 1] & 0xff) << 8;
+            }
+            output[o++] = ALPHABET[quantum >> 18];
+            output[o++] = ALPHABET[(quantum >> 12) & 0x3f];
+            output[o++] = remaining == 2 ? ALPHABET[(quantum >> 6) & 0x3f] : '=';
+            output[o++] = '=';
+        }
+        return new String(output);
+    }
+}
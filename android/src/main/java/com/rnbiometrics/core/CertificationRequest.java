@@ -0,0 +1,139 @@
+package com.rnbiometrics.core;
+
+/**
+ * Builds PKCS#10 certification requests (RFC 2986) around an existing key pair.
+ *
+ * The CertificationRequestInfo is built first and signed by the caller, then wrapped with the
+ * signature algorithm and signature. Subject attributes are written as UTF8Strings in the order
+ * used by the iOS implementation: C, O, OU, CN, ST, L.
+ */
+public final class CertificationRequest {
+
+    private static final byte[] OID_COUNTRY_NAME = {0x55, 0x04, 0x06};
+    private static final byte[] OID_ORGANIZATION_NAME = {0x55, 0x04, 0x0a};
+    private static final byte[] OID_ORGANIZATIONAL_UNIT_NAME = {0x55, 0x04, 0x0b};
+    private static final byte[] OID_COMMON_NAME = {0x55, 0x04, 0x03};
+    private static final byte[] OID_STATE_NAME = {0x55, 0x04, 0x08};
+    private static final byte[] OID_LOCALITY_NAME = {0x55, 0x04, 0x07};
+
+    // 1.2.840.113549.1.1.11
+    private static final byte[] OID_SHA256_WITH_RSA = {0x2a, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xf7, 0x0d, 0x01, 0x01, 0x0b};
+    // 1.2.840.10045.4.3.2
+    private static final byte[] OID_ECDSA_WITH_SHA256 = {0x2a, (byte) 0x86, 0x48, (byte) 0xce, 0x3d, 0x04, 0x03, 0x02};
+
+    private static final int PEM_LINE_LENGTH = 64;
+
+    private String commonName;
+    private String organizationalUnit;
+    private String organization;
+    private String locality;
+    private String state;
+    private String country;
+
+    public CertificationRequest(String commonName) {
+        if (commonName == null || commonName.isEmpty()) {
+            throw new IllegalArgumentException("commonName is required");
+        }
+        this.commonName = commonName;
+    }
+
+    public CertificationRequest setOrganizationalUnit(String organizationalUnit) {
+        this.organizationalUnit = organizationalUnit;
+        return this;
+    }
+
+    public CertificationRequest setOrganization(String organization) {
+        this.organization = organization;
+        return this;
+    }
+
+    public CertificationRequest setLocality(String locality) {
+        this.locality = locality;
+        return this;
+    }
+
+    public CertificationRequest setState(String state) {
+        this.state = state;
+        return this;
+    }
+
+    public CertificationRequest setCountry(String country) {
+        this.country = country;
+        return this;
+    }
+
+    /**
+     * Returns the DER CertificationRequestInfo, the data to sign.
+     *
+     * @param subjectPublicKeyInfo X.509 encoding of the public key, as returned by
+     *                             PublicKey.getEncoded()
+     */
+    public byte[] encodeInfo(byte[] subjectPublicKeyInfo) {
+        DerWriter der = new DerWriter(subjectPublicKeyInfo.length + 256);
+        int info = der.begin(DerWriter.TAG_SEQUENCE);
+        der.writeInteger(0);
+
+        int subject = der.begin(DerWriter.TAG_SEQUENCE);
+        writeName(der, OID_COUNTRY_NAME, country);
+        writeName(der, OID_ORGANIZATION_NAME, organization);
+        writeName(der, OID_ORGANIZATIONAL_UNIT_NAME, organizationalUnit);
+        writeName(der, OID_COMMON_NAME, commonName);
+        writeName(der, OID_STATE_NAME, state);
+        writeName(der, OID_LOCALITY_NAME, locality);
+        der.end(subject);
+
+        der.writeRaw(subjectPublicKeyInfo);
+        der.end(der.begin(DerWriter.TAG_CONTEXT_0));
+        der.end(info);
+        return der.toByteArray();
+    }
+
+    /**
+     * Returns the DER CertificationRequest for info signed with SHA256withRSA or SHA256withECDSA.
+     *
+     * @param keyAlgorithm "RSA" or "EC"
+     */
+    public static byte[] encode(byte[] info, String keyAlgorithm, byte[] signature) {
+        DerWriter der = new DerWriter(info.length + signature.length + 32);
+        int request = der.begin(DerWriter.TAG_SEQUENCE);
+        der.writeRaw(info);
+        int algorithm = der.begin(DerWriter.TAG_SEQUENCE);
+        if ("EC".equals(keyAlgorithm)) {
+            der.writeObjectIdentifier(OID_ECDSA_WITH_SHA256);
+        } else {
+            der.writeObjectIdentifier(OID_SHA256_WITH_RSA);
+            der.writeNull();
+        }
+        der.end(algorithm);
+        der.writeBitString(signature);
+        der.end(request);
+        return der.toByteArray();
+    }
+
+    /**
+     * Returns the base64 body of the PEM form of request, in 64 character lines.
+     */
+    public static String toPemBody(byte[] request) {
+        String base64 = Base64Codec.encode(request);
+        StringBuilder builder = new StringBuilder(base64.length() + base64.length() / PEM_LINE_LENGTH * 2);
+        for (int i = 0; i < base64.length(); i += PEM_LINE_LENGTH) {
+            if (i > 0) {
+                builder.append("\r\n");
+            }
+            builder.append(base64, i, Math.min(base64.length(), i + PEM_LINE_LENGTH));
+        }
+        return builder.toString();
+    }
+
+    private static void writeName(DerWriter der, byte[] oid, String value) {
+        if (value == null) {
+            return;
+        }
+        int set = der.begin(DerWriter.TAG_SET);
+        int attribute = der.begin(DerWriter.TAG_SEQUENCE);
+        der.writeObjectIdentifier(oid);
+        der.writeUtf8String(value);
+        der.end(attribute);
+        der.end(set);
+    }
+}
@@ -0,0 +1,163 @@
+package com.rnbiometrics.core;
+
+import java.nio.charset.Charset;
+
+/**
+ * Minimal DER encoder writing into a single growing buffer.
+ *
+ * Constructed values are written in place: {@link #begin(int)} reserves one length byte and
+ * {@link #end(int)} fills it in, shifting the content only when the length needs the long form.
+ * Nothing is allocated per element.
+ */
+public final class DerWriter {
+
+    public static final int TAG_INTEGER = 0x02;
+    public static final int TAG_BIT_STRING = 0x03;
+    public static final int TAG_NULL = 0x05;
+    public static final int TAG_OBJECT_IDENTIFIER = 0x06;
+    public static final int TAG_UTF8_STRING = 0x0c;
+    public static final int TAG_SEQUENCE = 0x30;
+    public static final int TAG_SET = 0x31;
+    public static final int TAG_CONTEXT_0 = 0xa0;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private byte[] buffer;
+    private int size;
+
+    public DerWriter() {
+        this(512);
+    }
+
+    public DerWriter(int initialCapacity) {
+        buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Starts a constructed value and returns the mark to pass to {@link #end(int)}.
+     */
+    public int begin(int tag) {
+        ensureCapacity(2);
+        buffer[size++] = (byte) tag;
+        buffer[size++] = 0;
+        return size;
+    }
+
+    public void end(int mark) {
+        int length = size - mark;
+        int lengthBytes = lengthOfLength(length);
+        if (lengthBytes > 1) {
+            ensureCapacity(lengthBytes - 1);
+            System.arraycopy(buffer, mark, buffer, mark + lengthBytes - 1, length);
+            size += lengthBytes - 1;
+        }
+        writeLength(mark - 1, length, lengthBytes);
+    }
+
+    /**
+     * Writes a complete value whose contents are already encoded.
+     */
+    public void write(int tag, byte[] contents) {
+        writeHeader(tag, contents.length);
+        writeRaw(contents, 0, contents.length);
+    }
+
+    /**
+     * Writes an already DER-encoded element, e.g. an X.509 SubjectPublicKeyInfo.
+     */
+    public void writeRaw(byte[] encoded) {
+        writeRaw(encoded, 0, encoded.length);
+    }
+
+    public void writeRaw(byte[] encoded, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(encoded, offset, buffer, size, length);
+        size += length;
+    }
+
+    /**
+     * Writes a small non-negative INTEGER.
+     */
+    public void writeInteger(int value) {
+        if (value < 0 || value > 127) {
+            throw new IllegalArgumentException("Only values 0..127 are supported");
+        }
+        writeHeader(TAG_INTEGER, 1);
+        buffer[size++] = (byte) value;
+    }
+
+    public void writeNull() {
+        writeHeader(TAG_NULL, 0);
+    }
+
+    /**
+     * Writes an OBJECT IDENTIFIER from its encoded contents (without tag and length).
+     */
+    public void writeObjectIdentifier(byte[] encodedOid) {
+        write(TAG_OBJECT_IDENTIFIER, encodedOid);
+    }
+
+    public void writeUtf8String(String value) {
+        write(TAG_UTF8_STRING, value.getBytes(UTF_8));
+    }
+
+    /**
+     * Writes a BIT STRING with no unused bits.
+     */
+    public void writeBitString(byte[] bits) {
+        writeHeader(TAG_BIT_STRING, bits.length + 1);
+        buffer[size++] = 0;
+        writeRaw(bits, 0, bits.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        byte[] result = new byte[size];
+        System.arraycopy(buffer, 0, result, 0, size);
+        return result;
+    }
+
+    private void writeHeader(int tag, int length) {
+        int lengthBytes = lengthOfLength(length);
+        ensureCapacity(1 + lengthBytes + length);
+        buffer[size++] = (byte) tag;
+        writeLength(size, length, lengthBytes);
+        size += lengthBytes;
+    }
+
+    private void writeLength(int position, int length, int lengthBytes) {
+        if (lengthBytes == 1) {
+            buffer[position] = (byte) length;
+            return;
+        }
+        buffer[position] = (byte) (0x80 | (lengthBytes - 1));
+        for (int i = lengthBytes - 1; i > 0; i--) {
+            buffer[position + i] = (byte) length;
+            length >>>= 8;
+        }
+    }
+
+    private static int lengthOfLength(int length) {
+        if (length < 0x80) {
+            return 1;
+        } else if (length < 0x100) {
+            return 2;
+        } else if (length < 0x10000) {
+            return 3;
+        } else if (length < 0x1000000) {
+            return 4;
+        }
+        return 5;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length) {
+            byte[] grown = new byte[Math.max(buffer.length * 2, size + extra)];
+            System.arraycopy(buffer, 0, grown, 0, size);
+            buffer = grown;
+        }
+    }
+}
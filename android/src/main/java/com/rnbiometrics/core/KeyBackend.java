@@ -0,0 +1,34 @@
+package com.rnbiometrics.core;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * Storage for signing keys, addressed by alias.
+ *
+ * {@link SoftwareKeyBackend} keeps keys in memory with the default JCA providers, so
+ * {@link Signer} can be tested and benchmarked on a plain JVM. The bridge module does not use
+ * this abstraction: its keys live in the AndroidKeyStore behind BiometricKeyStore and the key
+ * pool, and it only shares the static encoding and signing helpers of the core.
+ */
+public interface KeyBackend {
+
+    /**
+     * Generates a key pair under alias, replacing any existing one, and returns its public key.
+     */
+    PublicKey generate(String alias, SigningKeySpec spec) throws Exception;
+
+    boolean containsAlias(String alias);
+
+    /**
+     * Returns the private key of alias, or null if there is none.
+     */
+    PrivateKey getPrivateKey(String alias) throws Exception;
+
+    /**
+     * Returns the public key of alias, or null if there is none.
+     */
+    PublicKey getPublicKey(String alias) throws Exception;
+
+    boolean deleteEntry(String alias);
+}
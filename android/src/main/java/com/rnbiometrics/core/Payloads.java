@@ -0,0 +1,30 @@
+package com.rnbiometrics.core;
+
+import java.nio.charset.Charset;
+
+/**
+ * Decodes the payload strings passed from JS into the bytes that get signed.
+ */
+public final class Payloads {
+
+    public static final int TYPE_STRING = 0;
+    public static final int TYPE_BASE64 = 1;
+    /** A file:// or content:// URI, streamed by the platform layer rather than decoded here. */
+    public static final int TYPE_URI = 2;
+
+    private Payloads() {
+    }
+
+    /**
+     * Returns the bytes of a TYPE_STRING or TYPE_BASE64 payload. Strings are encoded with the
+     * platform charset, which is UTF-8 on Android.
+     */
+    public static byte[] decode(String payload, int type) {
+        if (type == TYPE_BASE64) {
+            return Base64Codec.decode(payload);
+        } else if (type == TYPE_STRING) {
+            return payload.getBytes(Charset.defaultCharset());
+        }
+        throw new IllegalArgumentException("Payload type " + type + " cannot be decoded in memory");
+    }
+}
@@ -0,0 +1,257 @@
+package com.rnbiometrics.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Streaming AES-256-GCM in fixed-size, independently authenticated segments.
+ *
+ * The data key is random per file and stored wrapped (encrypted) by another key in the header:
+ * <pre>
+ * magic "RNBE" | version (1) | segment size (4) | nonce prefix (8)
+ *              | wrap IV length (1) | wrap IV | wrapped key length (2) | wrapped key
+ * </pre>
+ * followed by the segments, each the GCM ciphertext of segment size plaintext bytes (less for
+ * the last one) plus a 16 byte tag. Segment i uses the nonce prefix followed by i as a 32-bit
+ * big-endian counter, and the header followed by a final-segment flag as additional data, so
+ * segments cannot be reordered, dropped from the end or moved to another file.
+ *
+ * Memory use is two segment buffers whatever the file size, and segment i can be decrypted on
+ * its own at offset header length + i * (segment size + 16).
+ */
+public final class SegmentedGcm {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024;
+    public static final int KEY_SIZE = 32;
+    public static final int TAG_SIZE = 16;
+
+    private static final byte[] MAGIC = {'R', 'N', 'B', 'E'};
+    private static final int VERSION = 1;
+    private static final int NONCE_PREFIX_SIZE = 8;
+    private static final int MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final byte[] NOT_LAST_SEGMENT = {0};
+    private static final byte[] LAST_SEGMENT = {1};
+
+    private SegmentedGcm() {
+    }
+
+    /**
+     * The parsed header of an encrypted stream.
+     */
+    public static final class Header {
+        private final int segmentSize;
+        private final byte[] noncePrefix;
+        private final byte[] wrapIv;
+        private final byte[] wrappedKey;
+        private final byte[] encoded;
+
+        private Header(int segmentSize, byte[] noncePrefix, byte[] wrapIv, byte[] wrappedKey) throws IOException {
+            this.segmentSize = segmentSize;
+            this.noncePrefix = noncePrefix;
+            this.wrapIv = wrapIv;
+            this.wrappedKey = wrappedKey;
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.write(MAGIC);
+            output.writeByte(VERSION);
+            output.writeInt(segmentSize);
+            output.write(noncePrefix);
+            output.writeByte(wrapIv.length);
+            output.write(wrapIv);
+            output.writeShort(wrappedKey.length);
+            output.write(wrappedKey);
+            output.flush();
+            this.encoded = bytes.toByteArray();
+        }
+
+        /**
+         * @param wrapIv     IV the data key was wrapped with
+         * @param wrappedKey the data key, encrypted by the wrapping key
+         */
+        public static Header create(int segmentSize, byte[] wrapIv, byte[] wrappedKey, SecureRandom random) throws IOException {
+            checkSegmentSize(segmentSize);
+            if (wrapIv.length > 0xff || wrappedKey.length > 0xffff) {
+                throw new IllegalArgumentException("Wrapped key too large");
+            }
+            byte[] noncePrefix = new byte[NONCE_PREFIX_SIZE];
+            random.nextBytes(noncePrefix);
+            return new Header(segmentSize, noncePrefix, wrapIv, wrappedKey);
+        }
+
+        /**
+         * Reads and validates a header, leaving input positioned at the first segment.
+         */
+        public static Header read(InputStream input) throws IOException {
+            DataInputStream data = new DataInputStream(input);
+            byte[] magic = new byte[MAGIC.length];
+            data.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not an encrypted file");
+            }
+            int version = data.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported encrypted file version " + version);
+            }
+            int segmentSize = data.readInt();
+            if (segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE) {
+                throw new IOException("Invalid segment size " + segmentSize);
+            }
+            byte[] noncePrefix = new byte[NONCE_PREFIX_SIZE];
+            data.readFully(noncePrefix);
+            byte[] wrapIv = new byte[data.readUnsignedByte()];
+            data.readFully(wrapIv);
+            byte[] wrappedKey = new byte[data.readUnsignedShort()];
+            data.readFully(wrappedKey);
+            return new Header(segmentSize, noncePrefix, wrapIv, wrappedKey);
+        }
+
+        public int getSegmentSize() {
+            return segmentSize;
+        }
+
+        public byte[] getWrapIv() {
+            return wrapIv.clone();
+        }
+
+        public byte[] getWrappedKey() {
+            return wrappedKey.clone();
+        }
+
+        public byte[] getEncoded() {
+            return encoded.clone();
+        }
+    }
+
+    public static byte[] newDataKey(SecureRandom random) {
+        byte[] dataKey = new byte[KEY_SIZE];
+        random.nextBytes(dataKey);
+        return dataKey;
+    }
+
+    /**
+     * Writes header and the encrypted content of input to output. Returns the number of
+     * plaintext bytes.
+     */
+    public static long encrypt(InputStream input, OutputStream output, byte[] dataKey, Header header) throws IOException, GeneralSecurityException {
+        int segmentSize = header.segmentSize;
+        PushbackInputStream source = new PushbackInputStream(input, 1);
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        SecretKeySpec key = new SecretKeySpec(dataKey, "AES");
+        byte[] plaintext = new byte[segmentSize];
+        byte[] ciphertext = new byte[segmentSize + TAG_SIZE];
+        byte[] nonce = new byte[NONCE_PREFIX_SIZE + 4];
+        System.arraycopy(header.noncePrefix, 0, nonce, 0, NONCE_PREFIX_SIZE);
+
+        output.write(header.encoded);
+        long total = 0;
+        int index = 0;
+        boolean last;
+        do {
+            int length = readFully(source, plaintext, segmentSize);
+            last = length < segmentSize || isAtEnd(source);
+            cipher.init(Cipher.ENCRYPT_MODE, key, segmentParameters(nonce, index));
+            cipher.updateAAD(header.encoded);
+            cipher.updateAAD(last ? LAST_SEGMENT : NOT_LAST_SEGMENT);
+            int written = cipher.doFinal(plaintext, 0, length, ciphertext, 0);
+            output.write(ciphertext, 0, written);
+            total += length;
+            index = nextIndex(index);
+        } while (!last);
+        Arrays.fill(plaintext, (byte) 0);
+        return total;
+    }
+
+    /**
+     * Decrypts the segments following header from input to output. Returns the number of
+     * plaintext bytes. Output written before a failing segment has been authenticated, but the
+     * content is incomplete; callers should discard it.
+     */
+    public static long decrypt(InputStream input, OutputStream output, byte[] dataKey, Header header) throws IOException, GeneralSecurityException {
+        int segmentSize = header.segmentSize;
+        int encryptedSegmentSize = segmentSize + TAG_SIZE;
+        PushbackInputStream source = new PushbackInputStream(input, 1);
+        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+        SecretKeySpec key = new SecretKeySpec(dataKey, "AES");
+        byte[] ciphertext = new byte[encryptedSegmentSize];
+        byte[] plaintext = new byte[encryptedSegmentSize];
+        byte[] nonce = new byte[NONCE_PREFIX_SIZE + 4];
+        System.arraycopy(header.noncePrefix, 0, nonce, 0, NONCE_PREFIX_SIZE);
+
+        long total = 0;
+        int index = 0;
+        boolean last;
+        do {
+            int length = readFully(source, ciphertext, encryptedSegmentSize);
+            if (length < TAG_SIZE) {
+                throw new EOFException("Encrypted file is truncated");
+            }
+            last = length < encryptedSegmentSize || isAtEnd(source);
+            cipher.init(Cipher.DECRYPT_MODE, key, segmentParameters(nonce, index));
+            cipher.updateAAD(header.encoded);
+            cipher.updateAAD(last ? LAST_SEGMENT : NOT_LAST_SEGMENT);
+            int written = cipher.doFinal(ciphertext, 0, length, plaintext, 0);
+            output.write(plaintext, 0, written);
+            total += written;
+            index = nextIndex(index);
+        } while (!last);
+        Arrays.fill(plaintext, (byte) 0);
+        return total;
+    }
+
+    private static GCMParameterSpec segmentParameters(byte[] nonce, int index) {
+        nonce[NONCE_PREFIX_SIZE] = (byte) (index >>> 24);
+        nonce[NONCE_PREFIX_SIZE + 1] = (byte) (index >>> 16);
+        nonce[NONCE_PREFIX_SIZE + 2] = (byte) (index >>> 8);
+        nonce[NONCE_PREFIX_SIZE + 3] = (byte) index;
+        return new GCMParameterSpec(TAG_SIZE * 8, nonce);
+    }
+
+    private static int nextIndex(int index) throws IOException {
+        if (index == -1) {
+            throw new IOException("Too many segments");
+        }
+        return index + 1;
+    }
+
+    private static int readFully(InputStream input, byte[] buffer, int length) throws IOException {
+        int total = 0;
+        while (total < length) {
+            int read = input.read(buffer, total, length - total);
+            if (read == -1) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static boolean isAtEnd(PushbackInputStream input) throws IOException {
+        int next = input.read();
+        if (next == -1) {
+            return true;
+        }
+        input.unread(next);
+        return false;
+    }
+
+    private static void checkSegmentSize(int segmentSize) {
+        if (segmentSize <= 0 || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Invalid segment size " + segmentSize);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.rnbiometrics.core;
+
+import java.security.Key;
+
+/**
+ * Maps a stored key to the signature algorithm used with it.
+ */
+public final class SignatureAlgorithms {
+
+    public static final String SHA256_WITH_RSA = "SHA256withRSA";
+    public static final String SHA256_WITH_ECDSA = "SHA256withECDSA";
+    public static final String NONE_WITH_RSA = "NONEwithRSA";
+    public static final String NONE_WITH_ECDSA = "NONEwithECDSA";
+
+    private SignatureAlgorithms() {
+    }
+
+    public static String forKey(Key key) {
+        return isEc(key) ? SHA256_WITH_ECDSA : SHA256_WITH_RSA;
+    }
+
+    /**
+     * Algorithm that signs an already computed SHA-256 digest (a DigestInfo for RSA).
+     */
+    public static String prehashForKey(Key key) {
+        return isEc(key) ? NONE_WITH_ECDSA : NONE_WITH_RSA;
+    }
+
+    private static boolean isEc(Key key) {
+        return "EC".equals(key.getAlgorithm());
+    }
+}
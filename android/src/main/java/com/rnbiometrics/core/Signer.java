@@ -0,0 +1,77 @@
+package com.rnbiometrics.core;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+
+/**
+ * Signing and encoding shared by the bridge module and the JVM-side tooling.
+ *
+ * Results are base64 without line breaks, the format returned to JS for signatures and
+ * public keys.
+ */
+public final class Signer {
+
+    private final KeyBackend backend;
+
+    public Signer(KeyBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Generates a key for keytag and returns its encoded public key.
+     */
+    public String createKey(String keytag, SigningKeySpec spec) throws Exception {
+        return encodePublicKey(backend.generate(keytag, spec));
+    }
+
+    /**
+     * Returns the encoded public key of keytag, or null if there is no key.
+     */
+    public String getPublicKey(String keytag) throws Exception {
+        PublicKey publicKey = backend.getPublicKey(keytag);
+        return publicKey != null ? encodePublicKey(publicKey) : null;
+    }
+
+    /**
+     * Signs a TYPE_STRING or TYPE_BASE64 payload with the key of keytag. Only usable with keys
+     * that need no authentication, i.e. from a software backend or a time-bound key inside its
+     * validity window.
+     */
+    public String sign(String keytag, String payload, int type) throws Exception {
+        PrivateKey privateKey = backend.getPrivateKey(keytag);
+        if (privateKey == null) {
+            throw new IllegalStateException("No key for keytag " + keytag);
+        }
+        Signature signature = Signature.getInstance(SignatureAlgorithms.forKey(privateKey));
+        signature.initSign(privateKey);
+        return sign(signature, payload, type);
+    }
+
+    /**
+     * Feeds a TYPE_STRING or TYPE_BASE64 payload into an initialized signature and returns the
+     * encoded signature.
+     */
+    public static String sign(Signature signature, String payload, int type) throws Exception {
+        return encode(sign(signature, Payloads.decode(payload, type)));
+    }
+
+    /**
+     * Signs raw payload bytes and returns the raw signature.
+     */
+    public static byte[] sign(Signature signature, byte[] payload) throws Exception {
+        signature.update(payload);
+        return signature.sign();
+    }
+
+    /**
+     * Returns the base64 X.509 SubjectPublicKeyInfo encoding of publicKey.
+     */
+    public static String encodePublicKey(PublicKey publicKey) {
+        return encode(publicKey.getEncoded());
+    }
+
+    public static String encode(byte[] bytes) {
+        return Base64Codec.encode(bytes);
+    }
+}
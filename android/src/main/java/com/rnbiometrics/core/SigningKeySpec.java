@@ -0,0 +1,65 @@
+package com.rnbiometrics.core;
+
+/**
+ * Validated parameters of a signing key, independent of where the key is generated.
+ */
+public final class SigningKeySpec {
+
+    public static final int KEY_TYPE_RSA = 0;
+    public static final int KEY_TYPE_EC = 1;
+    public static final int DEFAULT_RSA_KEY_SIZE = 2048;
+    /** EC keys are always on P-256 (secp256r1). */
+    public static final int EC_KEY_SIZE = 256;
+    public static final String EC_CURVE = "secp256r1";
+
+    private final int keytype;
+    private final int keysize;
+    private final int authValidityDuration;
+
+    private SigningKeySpec(int keytype, int keysize, int authValidityDuration) {
+        this.keytype = keytype;
+        this.keysize = keysize;
+        this.authValidityDuration = authValidityDuration;
+    }
+
+    /**
+     * @param keysize              RSA modulus size in bits, 0 or less for the default; ignored for EC
+     * @param authValidityDuration seconds the key stays usable after authentication, 0 for
+     *                             authentication on every use
+     */
+    public static SigningKeySpec of(int keytype, int keysize, int authValidityDuration) {
+        if (keytype != KEY_TYPE_RSA && keytype != KEY_TYPE_EC) {
+            throw new IllegalArgumentException("Unsupported keytype " + keytype);
+        }
+        int size;
+        if (keytype == KEY_TYPE_EC) {
+            size = EC_KEY_SIZE;
+        } else {
+            size = keysize > 0 ? keysize : DEFAULT_RSA_KEY_SIZE;
+        }
+        return new SigningKeySpec(keytype, size, Math.max(0, authValidityDuration));
+    }
+
+    public int getKeytype() {
+        return keytype;
+    }
+
+    public int getKeysize() {
+        return keysize;
+    }
+
+    public int getAuthValidityDuration() {
+        return authValidityDuration;
+    }
+
+    public boolean isEc() {
+        return keytype == KEY_TYPE_EC;
+    }
+
+    /**
+     * JCA key algorithm name, "RSA" or "EC".
+     */
+    public String getAlgorithm() {
+        return isEc() ? "EC" : "RSA";
+    }
+}
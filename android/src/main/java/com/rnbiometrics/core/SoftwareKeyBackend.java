@@ -0,0 +1,54 @@
+package com.rnbiometrics.core;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.RSAKeyGenParameterSpec;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link KeyBackend} on the default JCA providers. Keys are not protected by user
+ * authentication; the authentication validity of the spec is ignored.
+ */
+public class SoftwareKeyBackend implements KeyBackend {
+
+    private final Map<String, KeyPair> keyPairs = new ConcurrentHashMap<>();
+
+    @Override
+    public PublicKey generate(String alias, SigningKeySpec spec) throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(spec.getAlgorithm());
+        if (spec.isEc()) {
+            keyPairGenerator.initialize(new ECGenParameterSpec(SigningKeySpec.EC_CURVE));
+        } else {
+            keyPairGenerator.initialize(new RSAKeyGenParameterSpec(spec.getKeysize(), RSAKeyGenParameterSpec.F4));
+        }
+        KeyPair keyPair = keyPairGenerator.generateKeyPair();
+        keyPairs.put(alias, keyPair);
+        return keyPair.getPublic();
+    }
+
+    @Override
+    public boolean containsAlias(String alias) {
+        return keyPairs.containsKey(alias);
+    }
+
+    @Override
+    public PrivateKey getPrivateKey(String alias) {
+        KeyPair keyPair = keyPairs.get(alias);
+        return keyPair != null ? keyPair.getPrivate() : null;
+    }
+
+    @Override
+    public PublicKey getPublicKey(String alias) {
+        KeyPair keyPair = keyPairs.get(alias);
+        return keyPair != null ? keyPair.getPublic() : null;
+    }
+
+    @Override
+    public boolean deleteEntry(String alias) {
+        return keyPairs.remove(alias) != null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.rnbiometrics;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BiometricsExecutorTest {
+
+    private static final int PROMPTS = 200;
+
+    private BiometricsExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new BiometricsExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void threadCountStaysFlatOverManyPrompts() throws Exception {
+        int threadsBefore = Thread.activeCount();
+        final Set<String> threadNames = Collections.synchronizedSet(new HashSet<String>());
+
+        for (int round = 0; round < 5; round++) {
+            final CountDownLatch done = new CountDownLatch(PROMPTS);
+            for (int i = 0; i < PROMPTS; i++) {
+                // Each task stands in for the callbacks of one prompt.
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        threadNames.add(Thread.currentThread().getName());
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertTrue(executor.getPoolSize() <= BiometricsExecutor.DEFAULT_POOL_SIZE);
+            assertTrue(Thread.activeCount() <= threadsBefore + BiometricsExecutor.DEFAULT_POOL_SIZE);
+        }
+
+        assertTrue(threadNames.size() <= BiometricsExecutor.DEFAULT_POOL_SIZE);
+        for (String name : threadNames) {
+            assertTrue(name.startsWith("rnbiometrics-"));
+        }
+    }
+
+    @Test
+    public void runsOnDaemonThreads() throws Exception {
+        final boolean[] daemon = new boolean[1];
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                daemon[0] = Thread.currentThread().isDaemon();
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertTrue(daemon[0]);
+    }
+
+    @Test
+    public void usesConfiguredPoolSize() throws Exception {
+        BiometricsExecutor single = new BiometricsExecutor(1);
+        try {
+            final Set<String> threadNames = Collections.synchronizedSet(new HashSet<String>());
+            final CountDownLatch done = new CountDownLatch(PROMPTS);
+            for (int i = 0; i < PROMPTS; i++) {
+                single.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        threadNames.add(Thread.currentThread().getName());
+                        done.countDown();
+                    }
+                });
+            }
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(1, threadNames.size());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyPool() {
+        new BiometricsExecutor(0);
+    }
+}
@@ -10,6 +10,12 @@ interface IsSensorAvailableResult {
     biometryType?: BiometryType;
     error?: string;
 }
+interface BiometricAvailabilityChangedEvent extends IsSensorAvailableResult {
+    allowDeviceCredentials: boolean;
+}
+interface EventSubscription {
+    remove(): void;
+}
 interface CreateKeysResult {
     publicKey: string;
 }
@@ -23,6 +29,8 @@ interface CreateCsrOptions {
     state?: string;
     country?: string;
     cancelButtonText?: string;
+    promptId?: string;
+    timeout?: number;
 }
 interface CreateCsrResult {
     success: boolean;
@@ -32,16 +40,42 @@ interface CreateCsrResult {
 interface PublicKeysResult {
     publicKey: string;
 }
+interface PublicKeySyncResult {
+    publicKey?: string;
+    error?: string;
+}
 interface BiometricKeysExistResult {
     keysExist: boolean;
 }
 interface DeleteKeysResult {
     keysDeleted: boolean;
 }
+interface ListKeysResult {
+    keys: string[];
+}
+interface BatchKeysResult {
+    results: {
+        [keytag: string]: boolean;
+    };
+}
 interface CreateKeysOptions {
     keytag: string;
     keytype: number;
     keysize?: number;
+    authValidityDuration?: number;
+    prehash?: boolean;
+}
+interface ConfigureKeyPoolOptions {
+    keytype: number;
+    size: number;
+    keysize?: number;
+    authValidityDuration?: number;
+}
+interface KeyPoolMetricsResult {
+    hits: number;
+    misses: number;
+    available: number;
+    size: number;
 }
 interface CreateSignatureOptions {
     promptMessage: string;
@@ -49,21 +83,123 @@ interface CreateSignatureOptions {
     keytag: string;
     type: number;
     cancelButtonText?: string;
+    prehash?: boolean;
+    promptId?: string;
+    timeout?: number;
 }
 interface CreateSignatureResult {
     success: boolean;
     signature?: string;
     error?: string;
 }
+interface CreateSignaturesOptions {
+    promptMessage: string;
+    payloads: string[];
+    keytag: string;
+    type: number;
+    cancelButtonText?: string;
+    promptId?: string;
+    timeout?: number;
+}
+interface SignatureEntry {
+    success: boolean;
+    signature?: string;
+    error?: string;
+}
+interface CreateSignaturesResult {
+    success: boolean;
+    signatures?: SignatureEntry[];
+    error?: string;
+}
+interface OpenSigningSessionOptions {
+    promptMessage: string;
+    keytag: string;
+    cancelButtonText?: string;
+    promptId?: string;
+    timeout?: number;
+}
+interface OpenSigningSessionResult {
+    success: boolean;
+    sessionId?: string;
+    expiresIn?: number;
+    error?: string;
+}
+interface SignWithSessionOptions {
+    sessionId: string;
+    payload: string;
+    type: number;
+}
+interface CloseSigningSessionResult {
+    closed: boolean;
+}
 interface SimplePromptOptions {
     promptMessage: string;
     fallbackPromptMessage?: string;
     cancelButtonText?: string;
+    promptId?: string;
+    timeout?: number;
 }
 interface SimplePromptResult {
     success: boolean;
     error?: string;
 }
+interface CancelPromptResult {
+    cancelled: boolean;
+}
+interface TimerMetrics {
+    count: number;
+    mean: number;
+    p50: number;
+    p95: number;
+    p99: number;
+    max: number;
+}
+interface MetricsResult {
+    timers: {
+        [operation: string]: TimerMetrics;
+    };
+    errors: {
+        [operationAndCode: string]: number;
+    };
+}
+interface ResetMetricsResult {
+    reset: boolean;
+}
+interface VerifySignatureOptions {
+    keytag?: string;
+    publicKey?: string;
+    payload: string;
+    signature: string;
+    type?: number;
+}
+interface VerifySignatureResult {
+    verified: boolean;
+    error?: string;
+}
+interface VerifySignaturesBatchResult {
+    results: VerifySignatureResult[];
+}
+interface CreateEncryptionKeyResult {
+    keyCreated: boolean;
+}
+interface FileCipherOptions {
+    promptMessage: string;
+    keytag: string;
+    source: string;
+    destination: string;
+    cancelButtonText?: string;
+    promptId?: string;
+    timeout?: number;
+}
+interface FileCipherResult {
+    success: boolean;
+    bytes?: number;
+    error?: string;
+}
+interface PrewarmResult {
+    warm: boolean;
+    duration?: number;
+}
 /**
  * Enum for touch id sensor type
  */
@@ -81,12 +217,38 @@ export declare const BiometryTypes: {
     FaceID: string;
     Biometrics: string;
 };
+/**
+ * Values for createKeys keytype. KeyTypes.EC creates P-256 keys signed with SHA256withECDSA (android only)
+ */
+export declare const KeyTypes: {
+    RSA: number;
+    EC: number;
+};
+/**
+ * Values for the signature payload type.
+ * PayloadTypes.Uri signs the content of a file:// or content:// uri (android only)
+ */
+export declare const PayloadTypes: {
+    String: number;
+    Base64: number;
+    Uri: number;
+};
 export declare namespace ReactNativeBiometricsLegacy {
     /**
      * Returns promise that resolves to an object with object.biometryType = Biometrics | TouchID | FaceID
      * @returns {Promise<Object>} Promise that resolves to an object with details about biometrics available
      */
     function isSensorAvailable(): Promise<IsSensorAvailableResult>;
+    /**
+     * Calls listener whenever the result of isSensorAvailable changes (android only)
+     * @returns {Object} Subscription, call remove() to stop listening
+     */
+    function onBiometricAvailabilityChanged(listener: (event: BiometricAvailabilityChangedEvent) => void): EventSubscription;
+    /**
+     * Returns an object with object.available without waiting for a promise (android only)
+     * @returns {Object} Object with details about biometrics available
+     */
+    function isSensorAvailableSync(): IsSensorAvailableResult;
     /**
      * Creates a public private key pair,returns promise that resolves to
      * an object with object.publicKey, which is the public key of the newly generated key pair
@@ -94,6 +256,13 @@ export declare namespace ReactNativeBiometricsLegacy {
      */
     function createKeys(CreateKeysOptions: CreateKeysOptions): Promise<CreateKeysResult>;
     function getPublicKey(keytag: string): Promise<PublicKeysResult>;
+    function getPublicKeySync(keytag: string): PublicKeySyncResult;
+    /**
+     * Keeps configureKeyPoolOptions.size keys generated ahead of time for createKeys (android only)
+     * @returns {Promise<Object>}  Promise that resolves to the key pool metrics
+     */
+    function configureKeyPool(configureKeyPoolOptions: ConfigureKeyPoolOptions): Promise<KeyPoolMetricsResult>;
+    function getKeyPoolMetrics(): Promise<KeyPoolMetricsResult>;
     function createCsr(CreateCsrOptions: CreateCsrOptions): Promise<CreateCsrResult>;
     /**
      * Returns promise that resolves to an object with object.keysExists = true | false
@@ -101,12 +270,16 @@ export declare namespace ReactNativeBiometricsLegacy {
      * @returns {Promise<Object>} Promise that resolves to object with details aobut the existence of keys
      */
     function biometricKeysExist(keytag: string): Promise<BiometricKeysExistResult>;
+    function biometricKeysExistSync(keytag: string): BiometricKeysExistResult;
     /**
      * Returns promise that resolves to an object with true | false
      * indicating if the keys were properly deleted
      * @returns {Promise<Object>} Promise that resolves to an object with details about the deletion
      */
     function deleteKeys(keytag: string): Promise<DeleteKeysResult>;
+    function listKeys(prefix: string): Promise<ListKeysResult>;
+    function deleteKeysBatch(keytags: string[]): Promise<BatchKeysResult>;
+    function keysExistBatch(keytags: string[]): Promise<BatchKeysResult>;
     /**
      * Prompts user with biometrics dialog using the passed in prompt message and
      * returns promise that resolves to an object with object.signature,
@@ -119,6 +292,15 @@ export declare namespace ReactNativeBiometricsLegacy {
      * @returns {Promise<Object>}  Promise that resolves to an object cryptographic signature details
      */
     function createSignature(createSignatureOptions: CreateSignatureOptions): Promise<CreateSignatureResult>;
+    /**
+     * Prompts user with biometrics dialog once and signs every payload in createSignaturesOptions.payloads,
+     * returns promise that resolves to an object with object.signatures in the same order as the payloads (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with one signature entry per payload
+     */
+    function createSignatures(createSignaturesOptions: CreateSignaturesOptions): Promise<CreateSignaturesResult>;
+    function openSigningSession(openSigningSessionOptions: OpenSigningSessionOptions): Promise<OpenSigningSessionResult>;
+    function signWithSession(signWithSessionOptions: SignWithSessionOptions): Promise<CreateSignatureResult>;
+    function closeSigningSession(sessionId: string): Promise<CloseSigningSessionResult>;
     /**
      * Prompts user with biometrics dialog using the passed in prompt message and
      * returns promise that resolves to an object with object.success = true if the user passes,
@@ -129,6 +311,51 @@ export declare namespace ReactNativeBiometricsLegacy {
      * @returns {Promise<Object>}  Promise that resolves an object with details about the biometrics result
      */
     function simplePrompt(simplePromptOptions: SimplePromptOptions): Promise<SimplePromptResult>;
+    /**
+     * Cancels the queued or showing prompt started with the given promptId (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.cancelled = true | false
+     */
+    function cancelPrompt(promptId: string): Promise<CancelPromptResult>;
+    /**
+     * Loads the keystore and signature providers in the background so the first prompt opens faster (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.warm = true once done
+     */
+    function prewarm(): Promise<PrewarmResult>;
+    /**
+     * Returns latency percentiles and error counts of the native operations (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.timers and object.errors
+     */
+    function getMetrics(): Promise<MetricsResult>;
+    /**
+     * Clears the collected metrics (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.reset = true
+     */
+    function resetMetrics(): Promise<ResetMetricsResult>;
+    /**
+     * Verifies a signature against a stored key or a base64 public key, without a prompt (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.verified = true | false
+     */
+    function verifySignature(verifySignatureOptions: VerifySignatureOptions): Promise<VerifySignatureResult>;
+    /**
+     * Verifies many signatures in parallel on background threads (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.results, one per entry
+     */
+    function verifySignaturesBatch(entries: VerifySignatureOptions[]): Promise<VerifySignaturesBatchResult>;
+    /**
+     * Creates a biometric-bound AES-256-GCM key for encryptFile and decryptFile (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.keyCreated = true
+     */
+    function createEncryptionKey(keytag: string): Promise<CreateEncryptionKeyResult>;
+    /**
+     * Prompts user with biometrics dialog and encrypts source into destination (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes
+     */
+    function encryptFile(fileCipherOptions: FileCipherOptions): Promise<FileCipherResult>;
+    /**
+     * Prompts user with biometrics dialog and decrypts source into destination (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes
+     */
+    function decryptFile(fileCipherOptions: FileCipherOptions): Promise<FileCipherResult>;
 }
 export default class ReactNativeBiometrics {
     allowDeviceCredentials: boolean;
@@ -142,26 +369,96 @@ export default class ReactNativeBiometrics {
      * @returns {Promise<Object>} Promise that resolves to an object with details about biometrics available
      */
     isSensorAvailable(): Promise<IsSensorAvailableResult>;
+    /**
+     * Calls listener whenever the result of isSensorAvailable changes, e.g. after the user enrolls
+     * or removes biometrics and returns to the app. Only values already requested through
+     * isSensorAvailable are watched (android only)
+     * @returns {Object} Subscription, call remove() to stop listening
+     */
+    static onBiometricAvailabilityChanged(listener: (event: BiometricAvailabilityChangedEvent) => void): EventSubscription;
+    /**
+     * Returns an object with object.available and object.biometryType, read synchronously
+     * so it can be used before the first render. Not available with remote JS debugging (android only)
+     * @returns {Object} Object with details about biometrics available
+     */
+    isSensorAvailableSync(): IsSensorAvailableResult;
     /**
      * Creates a public private key pair,returns promise that resolves to
-     * an object with object.publicKey, which is the public key of the newly generated key pair
+     * an object with object.publicKey, which is the public key of the newly generated key pair.
+     * Set prehash to allow createSignature's prehash mode with this key; such keys are never taken
+     * from the key pool (android only)
      * @returns {Promise<Object>}  Promise that resolves to object with details about the newly generated public key
      */
     createKeys(CreateKeysOptions: CreateKeysOptions): Promise<CreateKeysResult>;
     getPublicKey(keytag: string): Promise<PublicKeysResult>;
-    createCsr(CreateCsrOptions: CreateCsrOptions): Promise<CreateCsrResult>;
+    /**
+     * Returns an object with object.publicKey, or object.error when the key cannot be read,
+     * read synchronously from the cached keystore state (android only)
+     * @returns {Object} Object with the public key
+     */
+    getPublicKeySync(keytag: string): PublicKeySyncResult;
+    /**
+     * Keeps a number of keys generated ahead of time on a background thread, so createKeys with the
+     * same keytype, keysize and authValidityDuration returns without waiting for key generation.
+     * A size of 0 disables the pool (android only)
+     * @param {Object} configureKeyPoolOptions
+     * @param {number} configureKeyPoolOptions.keytype
+     * @param {number} configureKeyPoolOptions.size
+     * @returns {Promise<Object>}  Promise that resolves to the key pool metrics
+     */
+    configureKeyPool(configureKeyPoolOptions: ConfigureKeyPoolOptions): Promise<KeyPoolMetricsResult>;
+    /**
+     * Returns promise that resolves to how often createKeys was served from the key pool (android only)
+     * @returns {Promise<Object>}  Promise that resolves to the key pool metrics
+     */
+    getKeyPoolMetrics(): Promise<KeyPoolMetricsResult>;
+    /**
+     * Prompts user with biometrics dialog and signs a PKCS#10 certification request for the key of
+     * keytag. The request is built natively and signed with SHA256withRSA or SHA256withECDSA,
+     * matching the key type (EC on android only)
+     * @param {Object} createCsrOptions
+     * @param {string} createCsrOptions.promptMessage
+     * @param {string} createCsrOptions.keytag
+     * @param {string} createCsrOptions.commonName
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.csr,
+     * the base64 body of the PEM encoded request
+     */
+    createCsr(createCsrOptions: CreateCsrOptions): Promise<CreateCsrResult>;
     /**
      * Returns promise that resolves to an object with object.keysExists = true | false
      * indicating if the keys were found to exist or not
      * @returns {Promise<Object>} Promise that resolves to object with details aobut the existence of keys
      */
     biometricKeysExist(keytag: string): Promise<BiometricKeysExistResult>;
+    /**
+     * Returns an object with object.keysExists = true | false, read synchronously
+     * from the in-memory key index (android only)
+     * @returns {Object} Object with details about the existence of keys
+     */
+    biometricKeysExistSync(keytag: string): BiometricKeysExistResult;
     /**
      * Returns promise that resolves to an object with true | false
      * indicating if the keys were properly deleted
      * @returns {Promise<Object>} Promise that resolves to an object with details about the deletion
      */
     deleteKeys(keytag: string): Promise<DeleteKeysResult>;
+    /**
+     * Returns promise that resolves to an object with object.keys, the keytags starting with prefix (android only)
+     * @returns {Promise<Object>} Promise that resolves to an object with the matching keytags
+     */
+    listKeys(prefix: string): Promise<ListKeysResult>;
+    /**
+     * Deletes the keys of every keytag in one native call, returns promise that resolves to
+     * an object with object.results[keytag] = true | false indicating if the key was deleted (android only)
+     * @returns {Promise<Object>} Promise that resolves to an object with one entry per keytag
+     */
+    deleteKeysBatch(keytags: string[]): Promise<BatchKeysResult>;
+    /**
+     * Returns promise that resolves to an object with object.results[keytag] = true | false
+     * indicating if a key exists for each keytag, checked in one native call (android only)
+     * @returns {Promise<Object>} Promise that resolves to an object with one entry per keytag
+     */
+    keysExistBatch(keytags: string[]): Promise<BatchKeysResult>;
     /**
      * Prompts user with biometrics dialog using the passed in prompt message and
      * returns promise that resolves to an object with object.signature,
@@ -171,9 +468,45 @@ export default class ReactNativeBiometrics {
      * @param {string} createSignatureOptions.payload
      * @param {string} createSignatureOptions.keytag
      * @param {string} createSignatureOptions.type
+     * @param {boolean} createSignatureOptions.prehash digest the payload while the prompt is showing; needs a key
+     * created with prehash, other keys sign the whole payload after the prompt (android only)
      * @returns {Promise<Object>}  Promise that resolves to an object cryptographic signature details
      */
     createSignature(createSignatureOptions: CreateSignatureOptions): Promise<CreateSignatureResult>;
+    /**
+     * Prompts user with biometrics dialog once and signs every payload, returns promise that resolves
+     * to an object with object.signatures, one entry per payload in input order.
+     * Signing more than one payload requires a key created with authValidityDuration (android only)
+     * @param {Object} createSignaturesOptions
+     * @param {string} createSignaturesOptions.promptMessage
+     * @param {string[]} createSignaturesOptions.payloads
+     * @param {string} createSignaturesOptions.keytag
+     * @param {string} createSignaturesOptions.type
+     * @returns {Promise<Object>}  Promise that resolves to an object with one signature entry per payload
+     */
+    createSignatures(createSignaturesOptions: CreateSignaturesOptions): Promise<CreateSignaturesResult>;
+    /**
+     * Prompts user with biometrics dialog once and returns promise that resolves to an object with
+     * object.sessionId. The key must have been created with authValidityDuration; until that many
+     * seconds have passed, signWithSession signs without showing a prompt (android only).
+     * On Android 11+ the prompt is biometric-only, as such keys cannot be unlocked with device credentials
+     * @param {Object} openSigningSessionOptions
+     * @param {string} openSigningSessionOptions.promptMessage
+     * @param {string} openSigningSessionOptions.keytag
+     * @returns {Promise<Object>}  Promise that resolves to an object with the session id
+     */
+    openSigningSession(openSigningSessionOptions: OpenSigningSessionOptions): Promise<OpenSigningSessionResult>;
+    /**
+     * Signs signWithSessionOptions.payload with an open signing session, without a prompt.
+     * Rejects with "Signing session expired" once the validity window is over (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object cryptographic signature details
+     */
+    signWithSession(signWithSessionOptions: SignWithSessionOptions): Promise<CreateSignatureResult>;
+    /**
+     * Closes the signing session opened with openSigningSession; later signWithSession calls are rejected (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.closed = true | false
+     */
+    closeSigningSession(sessionId: string): Promise<CloseSigningSessionResult>;
     /**
      * Prompts user with biometrics dialog using the passed in prompt message and
      * returns promise that resolves to an object with object.success = true if the user passes,
@@ -184,5 +517,85 @@ export default class ReactNativeBiometrics {
      * @returns {Promise<Object>}  Promise that resolves an object with details about the biometrics result
      */
     simplePrompt(simplePromptOptions: SimplePromptOptions): Promise<SimplePromptResult>;
+    /**
+     * Cancels the queued or showing prompt started with the given promptId.
+     * Prompts are shown one at a time: createSignature, createSignatures and simplePrompt calls made while
+     * a prompt is visible wait in a queue, identical simplePrompt calls share one prompt, and a request
+     * with a timeout (milliseconds) is rejected with "Prompt timed out" when it expires (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.cancelled = true | false
+     */
+    cancelPrompt(promptId: string): Promise<CancelPromptResult>;
+    /**
+     * Loads the keystore, looks up the signature providers and sets up the biometric manager on a
+     * background thread, so the first prompt opens as fast as later ones. Call it early, e.g. on app start,
+     * or pass prewarm = true to the ReactNativeBiometricsPackage constructor (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.warm = true and
+     * object.duration, the warm-up time in milliseconds
+     */
+    prewarm(): Promise<PrewarmResult>;
+    /**
+     * Returns latency percentiles (milliseconds) of the native operations: keystoreLoad, keyGeneration,
+     * promptQueue, promptShow, authentication (time the user spends on the prompt) and sign, and counts
+     * of errors keyed by "operation:code", e.g. "authentication:7" for onAuthenticationError codes.
+     * Native code can receive the same samples live through ReactNativeBiometrics.setMetricsListener (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.timers, per operation
+     * {count, mean, p50, p95, p99, max}, and object.errors
+     */
+    getMetrics(): Promise<MetricsResult>;
+    /**
+     * Clears the collected metrics (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.reset = true
+     */
+    resetMetrics(): Promise<ResetMetricsResult>;
+    /**
+     * Verifies a base64 signature over payload against the key of keytag or against publicKey, a base64
+     * X.509 public key as returned by createKeys. type is one of PayloadTypes and defaults to PayloadTypes.String.
+     * No prompt is shown; parsed public keys are cached (android only)
+     * @param {Object} verifySignatureOptions
+     * @param {string} verifySignatureOptions.keytag
+     * @param {string} verifySignatureOptions.publicKey
+     * @param {string} verifySignatureOptions.payload
+     * @param {string} verifySignatureOptions.signature
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.verified = true | false
+     * and object.error when the signature could not be checked, e.g. for a missing key
+     */
+    verifySignature(verifySignatureOptions: VerifySignatureOptions): Promise<VerifySignatureResult>;
+    /**
+     * Verifies every entry, spread across background cores, off the JS thread (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.results, one
+     * {verified, error} object per entry in input order
+     */
+    verifySignaturesBatch(entries: VerifySignatureOptions[]): Promise<VerifySignaturesBatchResult>;
+    /**
+     * Creates an AES-256-GCM key in the keystore for keytag, replacing any existing key. The key never
+     * leaves the keystore and every use requires authentication (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.keyCreated = true
+     */
+    createEncryptionKey(keytag: string): Promise<CreateEncryptionKeyResult>;
+    /**
+     * Prompts user with biometrics dialog, then encrypts the file:// or content:// URI source into destination
+     * with a random per-file key wrapped by the key of keytag. The content is streamed in 64 KiB segments
+     * authenticated independently, so memory use does not depend on the file size (android only)
+     * @param {Object} fileCipherOptions
+     * @param {string} fileCipherOptions.promptMessage
+     * @param {string} fileCipherOptions.keytag
+     * @param {string} fileCipherOptions.source
+     * @param {string} fileCipherOptions.destination
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes,
+     * the number of plaintext bytes, or object.success = false if the user cancels
+     */
+    encryptFile(fileCipherOptions: FileCipherOptions): Promise<FileCipherResult>;
+    /**
+     * Prompts user with biometrics dialog, then decrypts a file written by encryptFile into destination.
+     * Rejects, and removes destination, if any segment fails authentication (android only)
+     * @param {Object} fileCipherOptions
+     * @param {string} fileCipherOptions.promptMessage
+     * @param {string} fileCipherOptions.keytag
+     * @param {string} fileCipherOptions.source
+     * @param {string} fileCipherOptions.destination
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes,
+     * the number of plaintext bytes, or object.success = false if the user cancels
+     */
+    decryptFile(fileCipherOptions: FileCipherOptions): Promise<FileCipherResult>;
 }
 export {};
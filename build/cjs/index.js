@@ -11,7 +11,7 @@ var __assign = (this && this.__assign) || function () {
     return __assign.apply(this, arguments);
 };
 Object.defineProperty(exports, "__esModule", { value: true });
-exports.ReactNativeBiometricsLegacy = exports.BiometryTypes = exports.Biometrics = exports.FaceID = exports.TouchID = void 0;
+exports.ReactNativeBiometricsLegacy = exports.PayloadTypes = exports.KeyTypes = exports.BiometryTypes = exports.Biometrics = exports.FaceID = exports.TouchID = void 0;
 var react_native_1 = require("react-native");
 var bridge = react_native_1.NativeModules.ReactNativeBiometrics;
 /**
@@ -31,6 +31,22 @@ exports.BiometryTypes = {
     FaceID: exports.FaceID,
     Biometrics: exports.Biometrics
 };
+/**
+ * Values for createKeys keytype. KeyTypes.EC creates P-256 keys signed with SHA256withECDSA (android only)
+ */
+exports.KeyTypes = {
+    RSA: 0,
+    EC: 1
+};
+/**
+ * Values for the signature payload type.
+ * PayloadTypes.Uri signs the content of a file:// or content:// uri (android only)
+ */
+exports.PayloadTypes = {
+    String: 0,
+    Base64: 1,
+    Uri: 2
+};
 var ReactNativeBiometricsLegacy;
 (function (ReactNativeBiometricsLegacy) {
     /**
@@ -41,6 +57,22 @@ var ReactNativeBiometricsLegacy;
         return new ReactNativeBiometrics().isSensorAvailable();
     }
     ReactNativeBiometricsLegacy.isSensorAvailable = isSensorAvailable;
+    /**
+     * Calls listener whenever the result of isSensorAvailable changes (android only)
+     * @returns {Object} Subscription, call remove() to stop listening
+     */
+    function onBiometricAvailabilityChanged(listener) {
+        return ReactNativeBiometrics.onBiometricAvailabilityChanged(listener);
+    }
+    ReactNativeBiometricsLegacy.onBiometricAvailabilityChanged = onBiometricAvailabilityChanged;
+    /**
+     * Returns an object with object.available without waiting for a promise (android only)
+     * @returns {Object} Object with details about biometrics available
+     */
+    function isSensorAvailableSync() {
+        return new ReactNativeBiometrics().isSensorAvailableSync();
+    }
+    ReactNativeBiometricsLegacy.isSensorAvailableSync = isSensorAvailableSync;
     /**
      * Creates a public private key pair,returns promise that resolves to
      * an object with object.publicKey, which is the public key of the newly generated key pair
@@ -54,6 +86,22 @@ var ReactNativeBiometricsLegacy;
         return new ReactNativeBiometrics().getPublicKey(keytag);
     }
     ReactNativeBiometricsLegacy.getPublicKey = getPublicKey;
+    function getPublicKeySync(keytag) {
+        return new ReactNativeBiometrics().getPublicKeySync(keytag);
+    }
+    ReactNativeBiometricsLegacy.getPublicKeySync = getPublicKeySync;
+    /**
+     * Keeps configureKeyPoolOptions.size keys generated ahead of time for createKeys (android only)
+     * @returns {Promise<Object>}  Promise that resolves to the key pool metrics
+     */
+    function configureKeyPool(configureKeyPoolOptions) {
+        return new ReactNativeBiometrics().configureKeyPool(configureKeyPoolOptions);
+    }
+    ReactNativeBiometricsLegacy.configureKeyPool = configureKeyPool;
+    function getKeyPoolMetrics() {
+        return new ReactNativeBiometrics().getKeyPoolMetrics();
+    }
+    ReactNativeBiometricsLegacy.getKeyPoolMetrics = getKeyPoolMetrics;
     function createCsr(CreateCsrOptions) {
         return new ReactNativeBiometrics().createCsr(CreateCsrOptions);
     }
@@ -67,6 +115,10 @@ var ReactNativeBiometricsLegacy;
         return new ReactNativeBiometrics().biometricKeysExist(keytag);
     }
     ReactNativeBiometricsLegacy.biometricKeysExist = biometricKeysExist;
+    function biometricKeysExistSync(keytag) {
+        return new ReactNativeBiometrics().biometricKeysExistSync(keytag);
+    }
+    ReactNativeBiometricsLegacy.biometricKeysExistSync = biometricKeysExistSync;
     /**
      * Returns promise that resolves to an object with true | false
      * indicating if the keys were properly deleted
@@ -76,6 +128,18 @@ var ReactNativeBiometricsLegacy;
         return new ReactNativeBiometrics().deleteKeys(keytag);
     }
     ReactNativeBiometricsLegacy.deleteKeys = deleteKeys;
+    function listKeys(prefix) {
+        return new ReactNativeBiometrics().listKeys(prefix);
+    }
+    ReactNativeBiometricsLegacy.listKeys = listKeys;
+    function deleteKeysBatch(keytags) {
+        return new ReactNativeBiometrics().deleteKeysBatch(keytags);
+    }
+    ReactNativeBiometricsLegacy.deleteKeysBatch = deleteKeysBatch;
+    function keysExistBatch(keytags) {
+        return new ReactNativeBiometrics().keysExistBatch(keytags);
+    }
+    ReactNativeBiometricsLegacy.keysExistBatch = keysExistBatch;
     /**
      * Prompts user with biometrics dialog using the passed in prompt message and
      * returns promise that resolves to an object with object.signature,
@@ -91,6 +155,27 @@ var ReactNativeBiometricsLegacy;
         return new ReactNativeBiometrics().createSignature(createSignatureOptions);
     }
     ReactNativeBiometricsLegacy.createSignature = createSignature;
+    /**
+     * Prompts user with biometrics dialog once and signs every payload in createSignaturesOptions.payloads,
+     * returns promise that resolves to an object with object.signatures in the same order as the payloads (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with one signature entry per payload
+     */
+    function createSignatures(createSignaturesOptions) {
+        return new ReactNativeBiometrics().createSignatures(createSignaturesOptions);
+    }
+    ReactNativeBiometricsLegacy.createSignatures = createSignatures;
+    function openSigningSession(openSigningSessionOptions) {
+        return new ReactNativeBiometrics().openSigningSession(openSigningSessionOptions);
+    }
+    ReactNativeBiometricsLegacy.openSigningSession = openSigningSession;
+    function signWithSession(signWithSessionOptions) {
+        return new ReactNativeBiometrics().signWithSession(signWithSessionOptions);
+    }
+    ReactNativeBiometricsLegacy.signWithSession = signWithSession;
+    function closeSigningSession(sessionId) {
+        return new ReactNativeBiometrics().closeSigningSession(sessionId);
+    }
+    ReactNativeBiometricsLegacy.closeSigningSession = closeSigningSession;
     /**
      * Prompts user with biometrics dialog using the passed in prompt message and
      * returns promise that resolves to an object with object.success = true if the user passes,
@@ -104,6 +189,78 @@ var ReactNativeBiometricsLegacy;
         return new ReactNativeBiometrics().simplePrompt(simplePromptOptions);
     }
     ReactNativeBiometricsLegacy.simplePrompt = simplePrompt;
+    /**
+     * Cancels the queued or showing prompt started with the given promptId (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.cancelled = true | false
+     */
+    function cancelPrompt(promptId) {
+        return new ReactNativeBiometrics().cancelPrompt(promptId);
+    }
+    ReactNativeBiometricsLegacy.cancelPrompt = cancelPrompt;
+    /**
+     * Loads the keystore and signature providers in the background so the first prompt opens faster (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.warm = true once done
+     */
+    function prewarm() {
+        return new ReactNativeBiometrics().prewarm();
+    }
+    ReactNativeBiometricsLegacy.prewarm = prewarm;
+    /**
+     * Returns latency percentiles and error counts of the native operations (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.timers and object.errors
+     */
+    function getMetrics() {
+        return new ReactNativeBiometrics().getMetrics();
+    }
+    ReactNativeBiometricsLegacy.getMetrics = getMetrics;
+    /**
+     * Clears the collected metrics (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.reset = true
+     */
+    function resetMetrics() {
+        return new ReactNativeBiometrics().resetMetrics();
+    }
+    ReactNativeBiometricsLegacy.resetMetrics = resetMetrics;
+    /**
+     * Verifies a signature against a stored key or a base64 public key, without a prompt (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.verified = true | false
+     */
+    function verifySignature(verifySignatureOptions) {
+        return new ReactNativeBiometrics().verifySignature(verifySignatureOptions);
+    }
+    ReactNativeBiometricsLegacy.verifySignature = verifySignature;
+    /**
+     * Verifies many signatures in parallel on background threads (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.results, one per entry
+     */
+    function verifySignaturesBatch(entries) {
+        return new ReactNativeBiometrics().verifySignaturesBatch(entries);
+    }
+    ReactNativeBiometricsLegacy.verifySignaturesBatch = verifySignaturesBatch;
+    /**
+     * Creates a biometric-bound AES-256-GCM key for encryptFile and decryptFile (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.keyCreated = true
+     */
+    function createEncryptionKey(keytag) {
+        return new ReactNativeBiometrics().createEncryptionKey(keytag);
+    }
+    ReactNativeBiometricsLegacy.createEncryptionKey = createEncryptionKey;
+    /**
+     * Prompts user with biometrics dialog and encrypts source into destination (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes
+     */
+    function encryptFile(fileCipherOptions) {
+        return new ReactNativeBiometrics().encryptFile(fileCipherOptions);
+    }
+    ReactNativeBiometricsLegacy.encryptFile = encryptFile;
+    /**
+     * Prompts user with biometrics dialog and decrypts source into destination (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes
+     */
+    function decryptFile(fileCipherOptions) {
+        return new ReactNativeBiometrics().decryptFile(fileCipherOptions);
+    }
+    ReactNativeBiometricsLegacy.decryptFile = decryptFile;
 })(ReactNativeBiometricsLegacy || (exports.ReactNativeBiometricsLegacy = ReactNativeBiometricsLegacy = {}));
 var ReactNativeBiometrics = /** @class */ (function () {
     /**
@@ -125,9 +282,30 @@ var ReactNativeBiometrics = /** @class */ (function () {
             allowDeviceCredentials: this.allowDeviceCredentials
         });
     };
+    /**
+     * Calls listener whenever the result of isSensorAvailable changes, e.g. after the user enrolls
+     * or removes biometrics and returns to the app. Only values already requested through
+     * isSensorAvailable are watched (android only)
+     * @returns {Object} Subscription, call remove() to stop listening
+     */
+    ReactNativeBiometrics.onBiometricAvailabilityChanged = function (listener) {
+        return react_native_1.DeviceEventEmitter.addListener('onBiometricAvailabilityChanged', listener);
+    };
+    /**
+     * Returns an object with object.available and object.biometryType, read synchronously
+     * so it can be used before the first render. Not available with remote JS debugging (android only)
+     * @returns {Object} Object with details about biometrics available
+     */
+    ReactNativeBiometrics.prototype.isSensorAvailableSync = function () {
+        return bridge.isSensorAvailableSync({
+            allowDeviceCredentials: this.allowDeviceCredentials
+        });
+    };
     /**
      * Creates a public private key pair,returns promise that resolves to
-     * an object with object.publicKey, which is the public key of the newly generated key pair
+     * an object with object.publicKey, which is the public key of the newly generated key pair.
+     * Set prehash to allow createSignature's prehash mode with this key; such keys are never taken
+     * from the key pool (android only)
      * @returns {Promise<Object>}  Promise that resolves to object with details about the newly generated public key
      */
     ReactNativeBiometrics.prototype.createKeys = function (CreateKeysOptions) {
@@ -136,8 +314,48 @@ var ReactNativeBiometrics = /** @class */ (function () {
     ReactNativeBiometrics.prototype.getPublicKey = function (keytag) {
         return bridge.getPublicKey(keytag);
     };
-    ReactNativeBiometrics.prototype.createCsr = function (CreateCsrOptions) {
-        return bridge.createCsr(CreateCsrOptions);
+    /**
+     * Returns an object with object.publicKey, or object.error when the key cannot be read,
+     * read synchronously from the cached keystore state (android only)
+     * @returns {Object} Object with the public key
+     */
+    ReactNativeBiometrics.prototype.getPublicKeySync = function (keytag) {
+        return bridge.getPublicKeySync(keytag);
+    };
+    /**
+     * Keeps a number of keys generated ahead of time on a background thread, so createKeys with the
+     * same keytype, keysize and authValidityDuration returns without waiting for key generation.
+     * A size of 0 disables the pool (android only)
+     * @param {Object} configureKeyPoolOptions
+     * @param {number} configureKeyPoolOptions.keytype
+     * @param {number} configureKeyPoolOptions.size
+     * @returns {Promise<Object>}  Promise that resolves to the key pool metrics
+     */
+    ReactNativeBiometrics.prototype.configureKeyPool = function (configureKeyPoolOptions) {
+        return bridge.configureKeyPool(configureKeyPoolOptions);
+    };
+    /**
+     * Returns promise that resolves to how often createKeys was served from the key pool (android only)
+     * @returns {Promise<Object>}  Promise that resolves to the key pool metrics
+     */
+    ReactNativeBiometrics.prototype.getKeyPoolMetrics = function () {
+        return bridge.getKeyPoolMetrics();
+    };
+    /**
+     * Prompts user with biometrics dialog and signs a PKCS#10 certification request for the key of
+     * keytag. The request is built natively and signed with SHA256withRSA or SHA256withECDSA,
+     * matching the key type (EC on android only)
+     * @param {Object} createCsrOptions
+     * @param {string} createCsrOptions.promptMessage
+     * @param {string} createCsrOptions.keytag
+     * @param {string} createCsrOptions.commonName
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.csr,
+     * the base64 body of the PEM encoded request
+     */
+    ReactNativeBiometrics.prototype.createCsr = function (createCsrOptions) {
+        var _a;
+        createCsrOptions.cancelButtonText = (_a = createCsrOptions.cancelButtonText) !== null && _a !== void 0 ? _a : 'Cancel';
+        return bridge.createCsr(__assign({ allowDeviceCredentials: this.allowDeviceCredentials }, createCsrOptions));
     };
     /**
      * Returns promise that resolves to an object with object.keysExists = true | false
@@ -147,6 +365,14 @@ var ReactNativeBiometrics = /** @class */ (function () {
     ReactNativeBiometrics.prototype.biometricKeysExist = function (keytag) {
         return bridge.biometricKeysExist(keytag);
     };
+    /**
+     * Returns an object with object.keysExists = true | false, read synchronously
+     * from the in-memory key index (android only)
+     * @returns {Object} Object with details about the existence of keys
+     */
+    ReactNativeBiometrics.prototype.biometricKeysExistSync = function (keytag) {
+        return bridge.biometricKeysExistSync(keytag);
+    };
     /**
      * Returns promise that resolves to an object with true | false
      * indicating if the keys were properly deleted
@@ -155,6 +381,29 @@ var ReactNativeBiometrics = /** @class */ (function () {
     ReactNativeBiometrics.prototype.deleteKeys = function (keytag) {
         return bridge.deleteKeys(keytag);
     };
+    /**
+     * Returns promise that resolves to an object with object.keys, the keytags starting with prefix (android only)
+     * @returns {Promise<Object>} Promise that resolves to an object with the matching keytags
+     */
+    ReactNativeBiometrics.prototype.listKeys = function (prefix) {
+        return bridge.listKeys(prefix);
+    };
+    /**
+     * Deletes the keys of every keytag in one native call, returns promise that resolves to
+     * an object with object.results[keytag] = true | false indicating if the key was deleted (android only)
+     * @returns {Promise<Object>} Promise that resolves to an object with one entry per keytag
+     */
+    ReactNativeBiometrics.prototype.deleteKeysBatch = function (keytags) {
+        return bridge.deleteKeysBatch(keytags);
+    };
+    /**
+     * Returns promise that resolves to an object with object.results[keytag] = true | false
+     * indicating if a key exists for each keytag, checked in one native call (android only)
+     * @returns {Promise<Object>} Promise that resolves to an object with one entry per keytag
+     */
+    ReactNativeBiometrics.prototype.keysExistBatch = function (keytags) {
+        return bridge.keysExistBatch(keytags);
+    };
     /**
      * Prompts user with biometrics dialog using the passed in prompt message and
      * returns promise that resolves to an object with object.signature,
@@ -164,6 +413,8 @@ var ReactNativeBiometrics = /** @class */ (function () {
      * @param {string} createSignatureOptions.payload
      * @param {string} createSignatureOptions.keytag
      * @param {string} createSignatureOptions.type
+     * @param {boolean} createSignatureOptions.prehash digest the payload while the prompt is showing; needs a key
+     * created with prehash, other keys sign the whole payload after the prompt (android only)
      * @returns {Promise<Object>}  Promise that resolves to an object cryptographic signature details
      */
     ReactNativeBiometrics.prototype.createSignature = function (createSignatureOptions) {
@@ -171,6 +422,52 @@ var ReactNativeBiometrics = /** @class */ (function () {
         createSignatureOptions.cancelButtonText = (_a = createSignatureOptions.cancelButtonText) !== null && _a !== void 0 ? _a : 'Cancel';
         return bridge.createSignature(__assign({ allowDeviceCredentials: this.allowDeviceCredentials }, createSignatureOptions));
     };
+    /**
+     * Prompts user with biometrics dialog once and signs every payload, returns promise that resolves
+     * to an object with object.signatures, one entry per payload in input order.
+     * Signing more than one payload requires a key created with authValidityDuration (android only)
+     * @param {Object} createSignaturesOptions
+     * @param {string} createSignaturesOptions.promptMessage
+     * @param {string[]} createSignaturesOptions.payloads
+     * @param {string} createSignaturesOptions.keytag
+     * @param {string} createSignaturesOptions.type
+     * @returns {Promise<Object>}  Promise that resolves to an object with one signature entry per payload
+     */
+    ReactNativeBiometrics.prototype.createSignatures = function (createSignaturesOptions) {
+        var _a;
+        createSignaturesOptions.cancelButtonText = (_a = createSignaturesOptions.cancelButtonText) !== null && _a !== void 0 ? _a : 'Cancel';
+        return bridge.createSignatures(__assign({ allowDeviceCredentials: this.allowDeviceCredentials }, createSignaturesOptions));
+    };
+    /**
+     * Prompts user with biometrics dialog once and returns promise that resolves to an object with
+     * object.sessionId. The key must have been created with authValidityDuration; until that many
+     * seconds have passed, signWithSession signs without showing a prompt (android only).
+     * On Android 11+ the prompt is biometric-only, as such keys cannot be unlocked with device credentials
+     * @param {Object} openSigningSessionOptions
+     * @param {string} openSigningSessionOptions.promptMessage
+     * @param {string} openSigningSessionOptions.keytag
+     * @returns {Promise<Object>}  Promise that resolves to an object with the session id
+     */
+    ReactNativeBiometrics.prototype.openSigningSession = function (openSigningSessionOptions) {
+        var _a;
+        openSigningSessionOptions.cancelButtonText = (_a = openSigningSessionOptions.cancelButtonText) !== null && _a !== void 0 ? _a : 'Cancel';
+        return bridge.openSigningSession(__assign({ allowDeviceCredentials: this.allowDeviceCredentials }, openSigningSessionOptions));
+    };
+    /**
+     * Signs signWithSessionOptions.payload with an open signing session, without a prompt.
+     * Rejects with "Signing session expired" once the validity window is over (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object cryptographic signature details
+     */
+    ReactNativeBiometrics.prototype.signWithSession = function (signWithSessionOptions) {
+        return bridge.signWithSession(signWithSessionOptions);
+    };
+    /**
+     * Closes the signing session opened with openSigningSession; later signWithSession calls are rejected (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.closed = true | false
+     */
+    ReactNativeBiometrics.prototype.closeSigningSession = function (sessionId) {
+        return bridge.closeSigningSession(sessionId);
+    };
     /**
      * Prompts user with biometrics dialog using the passed in prompt message and
      * returns promise that resolves to an object with object.success = true if the user passes,
@@ -186,6 +483,108 @@ var ReactNativeBiometrics = /** @class */ (function () {
         simplePromptOptions.fallbackPromptMessage = (_b = simplePromptOptions.fallbackPromptMessage) !== null && _b !== void 0 ? _b : 'Use Passcode';
         return bridge.simplePrompt(__assign({ allowDeviceCredentials: this.allowDeviceCredentials }, simplePromptOptions));
     };
+    /**
+     * Cancels the queued or showing prompt started with the given promptId.
+     * Prompts are shown one at a time: createSignature, createSignatures and simplePrompt calls made while
+     * a prompt is visible wait in a queue, identical simplePrompt calls share one prompt, and a request
+     * with a timeout (milliseconds) is rejected with "Prompt timed out" when it expires (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.cancelled = true | false
+     */
+    ReactNativeBiometrics.prototype.cancelPrompt = function (promptId) {
+        return bridge.cancelPrompt(promptId);
+    };
+    /**
+     * Loads the keystore, looks up the signature providers and sets up the biometric manager on a
+     * background thread, so the first prompt opens as fast as later ones. Call it early, e.g. on app start,
+     * or pass prewarm = true to the ReactNativeBiometricsPackage constructor (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.warm = true and
+     * object.duration, the warm-up time in milliseconds
+     */
+    ReactNativeBiometrics.prototype.prewarm = function () {
+        return bridge.prewarm();
+    };
+    /**
+     * Returns latency percentiles (milliseconds) of the native operations: keystoreLoad, keyGeneration,
+     * promptQueue, promptShow, authentication (time the user spends on the prompt) and sign, and counts
+     * of errors keyed by "operation:code", e.g. "authentication:7" for onAuthenticationError codes.
+     * Native code can receive the same samples live through ReactNativeBiometrics.setMetricsListener (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.timers, per operation
+     * {count, mean, p50, p95, p99, max}, and object.errors
+     */
+    ReactNativeBiometrics.prototype.getMetrics = function () {
+        return bridge.getMetrics();
+    };
+    /**
+     * Clears the collected metrics (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.reset = true
+     */
+    ReactNativeBiometrics.prototype.resetMetrics = function () {
+        return bridge.resetMetrics();
+    };
+    /**
+     * Verifies a base64 signature over payload against the key of keytag or against publicKey, a base64
+     * X.509 public key as returned by createKeys. type is one of PayloadTypes and defaults to PayloadTypes.String.
+     * No prompt is shown; parsed public keys are cached (android only)
+     * @param {Object} verifySignatureOptions
+     * @param {string} verifySignatureOptions.keytag
+     * @param {string} verifySignatureOptions.publicKey
+     * @param {string} verifySignatureOptions.payload
+     * @param {string} verifySignatureOptions.signature
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.verified = true | false
+     * and object.error when the signature could not be checked, e.g. for a missing key
+     */
+    ReactNativeBiometrics.prototype.verifySignature = function (verifySignatureOptions) {
+        return bridge.verifySignature(verifySignatureOptions);
+    };
+    /**
+     * Verifies every entry, spread across background cores, off the JS thread (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.results, one
+     * {verified, error} object per entry in input order
+     */
+    ReactNativeBiometrics.prototype.verifySignaturesBatch = function (entries) {
+        return bridge.verifySignaturesBatch(entries);
+    };
+    /**
+     * Creates an AES-256-GCM key in the keystore for keytag, replacing any existing key. The key never
+     * leaves the keystore and every use requires authentication (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.keyCreated = true
+     */
+    ReactNativeBiometrics.prototype.createEncryptionKey = function (keytag) {
+        return bridge.createEncryptionKey(keytag);
+    };
+    /**
+     * Prompts user with biometrics dialog, then encrypts the file:// or content:// URI source into destination
+     * with a random per-file key wrapped by the key of keytag. The content is streamed in 64 KiB segments
+     * authenticated independently, so memory use does not depend on the file size (android only)
+     * @param {Object} fileCipherOptions
+     * @param {string} fileCipherOptions.promptMessage
+     * @param {string} fileCipherOptions.keytag
+     * @param {string} fileCipherOptions.source
+     * @param {string} fileCipherOptions.destination
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes,
+     * the number of plaintext bytes, or object.success = false if the user cancels
+     */
+    ReactNativeBiometrics.prototype.encryptFile = function (fileCipherOptions) {
+        var _a;
+        fileCipherOptions.cancelButtonText = (_a = fileCipherOptions.cancelButtonText) !== null && _a !== void 0 ? _a : 'Cancel';
+        return bridge.encryptFile(__assign({ allowDeviceCredentials: this.allowDeviceCredentials }, fileCipherOptions));
+    };
+    /**
+     * Prompts user with biometrics dialog, then decrypts a file written by encryptFile into destination.
+     * Rejects, and removes destination, if any segment fails authentication (android only)
+     * @param {Object} fileCipherOptions
+     * @param {string} fileCipherOptions.promptMessage
+     * @param {string} fileCipherOptions.keytag
+     * @param {string} fileCipherOptions.source
+     * @param {string} fileCipherOptions.destination
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes,
+     * the number of plaintext bytes, or object.success = false if the user cancels
+     */
+    ReactNativeBiometrics.prototype.decryptFile = function (fileCipherOptions) {
+        var _a;
+        fileCipherOptions.cancelButtonText = (_a = fileCipherOptions.cancelButtonText) !== null && _a !== void 0 ? _a : 'Cancel';
+        return bridge.decryptFile(__assign({ allowDeviceCredentials: this.allowDeviceCredentials }, fileCipherOptions));
+    };
     return ReactNativeBiometrics;
 }());
 exports.default = ReactNativeBiometrics;
@@ -1,4 +1,4 @@
-import { NativeModules } from 'react-native'
+import { DeviceEventEmitter, NativeModules } from 'react-native'
 
 const { ReactNativeBiometrics: bridge } = NativeModules
 
@@ -17,6 +17,14 @@ interface IsSensorAvailableResult {
   error?: string
 }
 
+interface BiometricAvailabilityChangedEvent extends IsSensorAvailableResult {
+  allowDeviceCredentials: boolean
+}
+
+interface EventSubscription {
+  remove(): void
+}
+
 interface CreateKeysResult {
   publicKey: string
 }
@@ -31,6 +39,8 @@ interface CreateCsrOptions {
   state?: string
   country?: string
   cancelButtonText?: string
+  promptId?: string
+  timeout?: number
 }
 
 interface CreateCsrResult {
@@ -43,6 +53,11 @@ interface PublicKeysResult {
   publicKey: string
 }
 
+interface PublicKeySyncResult {
+  publicKey?: string
+  error?: string
+}
+
 interface BiometricKeysExistResult {
   keysExist: boolean
 }
@@ -51,10 +66,34 @@ interface DeleteKeysResult {
   keysDeleted: boolean
 }
 
+interface ListKeysResult {
+  keys: string[]
+}
+
+interface BatchKeysResult {
+  results: { [keytag: string]: boolean }
+}
+
 interface CreateKeysOptions {
   keytag: string
   keytype: number
   keysize?: number
+  authValidityDuration?: number
+  prehash?: boolean
+}
+
+interface ConfigureKeyPoolOptions {
+  keytype: number
+  size: number
+  keysize?: number
+  authValidityDuration?: number
+}
+
+interface KeyPoolMetricsResult {
+  hits: number
+  misses: number
+  available: number
+  size: number
 }
 
 interface CreateSignatureOptions {
@@ -63,6 +102,9 @@ interface CreateSignatureOptions {
   keytag: string
   type: number
   cancelButtonText?: string
+  prehash?: boolean
+  promptId?: string
+  timeout?: number
 }
 
 interface CreateSignatureResult {
@@ -71,10 +113,59 @@ interface CreateSignatureResult {
   error?: string
 }
 
+interface CreateSignaturesOptions {
+  promptMessage: string
+  payloads: string[]
+  keytag: string
+  type: number
+  cancelButtonText?: string
+  promptId?: string
+  timeout?: number
+}
+
+interface SignatureEntry {
+  success: boolean
+  signature?: string
+  error?: string
+}
+
+interface CreateSignaturesResult {
+  success: boolean
+  signatures?: SignatureEntry[]
+  error?: string
+}
+
+interface OpenSigningSessionOptions {
+  promptMessage: string
+  keytag: string
+  cancelButtonText?: string
+  promptId?: string
+  timeout?: number
+}
+
+interface OpenSigningSessionResult {
+  success: boolean
+  sessionId?: string
+  expiresIn?: number
+  error?: string
+}
+
+interface SignWithSessionOptions {
+  sessionId: string
+  payload: string
+  type: number
+}
+
+interface CloseSigningSessionResult {
+  closed: boolean
+}
+
 interface SimplePromptOptions {
   promptMessage: string
   fallbackPromptMessage?: string
   cancelButtonText?: string
+  promptId?: string
+  timeout?: number
 }
 
 interface SimplePromptResult {
@@ -82,6 +173,70 @@ interface SimplePromptResult {
   error?: string
 }
 
+interface CancelPromptResult {
+  cancelled: boolean
+}
+
+interface TimerMetrics {
+  count: number
+  mean: number
+  p50: number
+  p95: number
+  p99: number
+  max: number
+}
+
+interface MetricsResult {
+  timers: { [operation: string]: TimerMetrics }
+  errors: { [operationAndCode: string]: number }
+}
+
+interface ResetMetricsResult {
+  reset: boolean
+}
+
+interface VerifySignatureOptions {
+  keytag?: string
+  publicKey?: string
+  payload: string
+  signature: string
+  type?: number
+}
+
+interface VerifySignatureResult {
+  verified: boolean
+  error?: string
+}
+
+interface VerifySignaturesBatchResult {
+  results: VerifySignatureResult[]
+}
+
+interface CreateEncryptionKeyResult {
+  keyCreated: boolean
+}
+
+interface FileCipherOptions {
+  promptMessage: string
+  keytag: string
+  source: string
+  destination: string
+  cancelButtonText?: string
+  promptId?: string
+  timeout?: number
+}
+
+interface FileCipherResult {
+  success: boolean
+  bytes?: number
+  error?: string
+}
+
+interface PrewarmResult {
+  warm: boolean
+  duration?: number
+}
+
 /**
  * Enum for touch id sensor type
  */
@@ -101,6 +256,24 @@ export const BiometryTypes = {
   Biometrics
 }
 
+/**
+ * Values for createKeys keytype. KeyTypes.EC creates P-256 keys signed with SHA256withECDSA (android only)
+ */
+export const KeyTypes = {
+  RSA: 0,
+  EC: 1
+}
+
+/**
+ * Values for the signature payload type.
+ * PayloadTypes.Uri signs the content of a file:// or content:// uri (android only)
+ */
+export const PayloadTypes = {
+  String: 0,
+  Base64: 1,
+  Uri: 2
+}
+
 export module ReactNativeBiometricsLegacy {
   /**
    * Returns promise that resolves to an object with object.biometryType = Biometrics | TouchID | FaceID
@@ -110,6 +283,22 @@ export module ReactNativeBiometricsLegacy {
     return new ReactNativeBiometrics().isSensorAvailable()
   }
 
+  /**
+   * Calls listener whenever the result of isSensorAvailable changes (android only)
+   * @returns {Object} Subscription, call remove() to stop listening
+   */
+  export function onBiometricAvailabilityChanged(listener: (event: BiometricAvailabilityChangedEvent) => void): EventSubscription {
+    return ReactNativeBiometrics.onBiometricAvailabilityChanged(listener)
+  }
+
+  /**
+   * Returns an object with object.available without waiting for a promise (android only)
+   * @returns {Object} Object with details about biometrics available
+   */
+  export function isSensorAvailableSync(): IsSensorAvailableResult {
+    return new ReactNativeBiometrics().isSensorAvailableSync()
+  }
+
   /**
    * Creates a public private key pair,returns promise that resolves to
    * an object with object.publicKey, which is the public key of the newly generated key pair
@@ -123,6 +312,22 @@ export module ReactNativeBiometricsLegacy {
     return new ReactNativeBiometrics().getPublicKey(keytag)
   }
 
+  export function getPublicKeySync(keytag: string): PublicKeySyncResult {
+    return new ReactNativeBiometrics().getPublicKeySync(keytag)
+  }
+
+  /**
+   * Keeps configureKeyPoolOptions.size keys generated ahead of time for createKeys (android only)
+   * @returns {Promise<Object>}  Promise that resolves to the key pool metrics
+   */
+  export function configureKeyPool(configureKeyPoolOptions: ConfigureKeyPoolOptions): Promise<KeyPoolMetricsResult> {
+    return new ReactNativeBiometrics().configureKeyPool(configureKeyPoolOptions)
+  }
+
+  export function getKeyPoolMetrics(): Promise<KeyPoolMetricsResult> {
+    return new ReactNativeBiometrics().getKeyPoolMetrics()
+  }
+
   export function createCsr(CreateCsrOptions: CreateCsrOptions): Promise<CreateCsrResult> {
     return new ReactNativeBiometrics().createCsr(CreateCsrOptions)
   }
@@ -136,6 +341,10 @@ export module ReactNativeBiometricsLegacy {
     return new ReactNativeBiometrics().biometricKeysExist(keytag)
   }
 
+  export function biometricKeysExistSync(keytag: string): BiometricKeysExistResult {
+    return new ReactNativeBiometrics().biometricKeysExistSync(keytag)
+  }
+
   /**
    * Returns promise that resolves to an object with true | false
    * indicating if the keys were properly deleted
@@ -145,6 +354,18 @@ export module ReactNativeBiometricsLegacy {
     return new ReactNativeBiometrics().deleteKeys(keytag)
   }
 
+  export function listKeys(prefix: string): Promise<ListKeysResult> {
+    return new ReactNativeBiometrics().listKeys(prefix)
+  }
+
+  export function deleteKeysBatch(keytags: string[]): Promise<BatchKeysResult> {
+    return new ReactNativeBiometrics().deleteKeysBatch(keytags)
+  }
+
+  export function keysExistBatch(keytags: string[]): Promise<BatchKeysResult> {
+    return new ReactNativeBiometrics().keysExistBatch(keytags)
+  }
+
   /**
    * Prompts user with biometrics dialog using the passed in prompt message and
    * returns promise that resolves to an object with object.signature,
@@ -160,6 +381,27 @@ export module ReactNativeBiometricsLegacy {
     return new ReactNativeBiometrics().createSignature(createSignatureOptions)
   }
 
+  /**
+   * Prompts user with biometrics dialog once and signs every payload in createSignaturesOptions.payloads,
+   * returns promise that resolves to an object with object.signatures in the same order as the payloads (android only)
+   * @returns {Promise<Object>}  Promise that resolves to an object with one signature entry per payload
+   */
+  export function createSignatures(createSignaturesOptions: CreateSignaturesOptions): Promise<CreateSignaturesResult> {
+    return new ReactNativeBiometrics().createSignatures(createSignaturesOptions)
+  }
+
+  export function openSigningSession(openSigningSessionOptions: OpenSigningSessionOptions): Promise<OpenSigningSessionResult> {
+    return new ReactNativeBiometrics().openSigningSession(openSigningSessionOptions)
+  }
+
+  export function signWithSession(signWithSessionOptions: SignWithSessionOptions): Promise<CreateSignatureResult> {
+    return new ReactNativeBiometrics().signWithSession(signWithSessionOptions)
+  }
+
+  export function closeSigningSession(sessionId: string): Promise<CloseSigningSessionResult> {
+    return new ReactNativeBiometrics().closeSigningSession(sessionId)
+  }
+
   /**
    * Prompts user with biometrics dialog using the passed in prompt message and
    * returns promise that resolves to an object with object.success = true if the user passes,
@@ -172,6 +414,78 @@ export module ReactNativeBiometricsLegacy {
   export function simplePrompt(simplePromptOptions: SimplePromptOptions): Promise<SimplePromptResult> {
     return new ReactNativeBiometrics().simplePrompt(simplePromptOptions)
   }
+
+  /**
+   * Cancels the queued or showing prompt started with the given promptId (android only)
+   * @returns {Promise<Object>}  Promise that resolves to an object with object.cancelled = true | false
+   */
+  export function cancelPrompt(promptId: string): Promise<CancelPromptResult> {
+    return new ReactNativeBiometrics().cancelPrompt(promptId)
+  }
+
+  /**
+   * Loads the keystore and signature providers in the background so the first prompt opens faster (android only)
+   * @returns {Promise<Object>}  Promise that resolves to an object with object.warm = true once done
+   */
+  export function prewarm(): Promise<PrewarmResult> {
+    return new ReactNativeBiometrics().prewarm()
+  }
+
+  /**
+   * Returns latency percentiles and error counts of the native operations (android only)
+   * @returns {Promise<Object>}  Promise that resolves to an object with object.timers and object.errors
+   */
+  export function getMetrics(): Promise<MetricsResult> {
+    return new ReactNativeBiometrics().getMetrics()
+  }
+
+  /**
+   * Clears the collected metrics (android only)
+   * @returns {Promise<Object>}  Promise that resolves to an object with object.reset = true
+   */
+  export function resetMetrics(): Promise<ResetMetricsResult> {
+    return new ReactNativeBiometrics().resetMetrics()
+  }
+
+  /**
+   * Verifies a signature against a stored key or a base64 public key, without a prompt (android only)
+   * @returns {Promise<Object>}  Promise that resolves to an object with object.verified = true | false
+   */
+  export function verifySignature(verifySignatureOptions: VerifySignatureOptions): Promise<VerifySignatureResult> {
+    return new ReactNativeBiometrics().verifySignature(verifySignatureOptions)
+  }
+
+  /**
+   * Verifies many signatures in parallel on background threads (android only)
+   * @returns {Promise<Object>}  Promise that resolves to an object with object.results, one per entry
+   */
+  export function verifySignaturesBatch(entries: VerifySignatureOptions[]): Promise<VerifySignaturesBatchResult> {
+    return new ReactNativeBiometrics().verifySignaturesBatch(entries)
+  }
+
+  /**
+   * Creates a biometric-bound AES-256-GCM key for encryptFile and decryptFile (android only)
+   * @returns {Promise<Object>}  Promise that resolves to an object with object.keyCreated = true
+   */
+  export function createEncryptionKey(keytag: string): Promise<CreateEncryptionKeyResult> {
+    return new ReactNativeBiometrics().createEncryptionKey(keytag)
+  }
+
+  /**
+   * Prompts user with biometrics dialog and encrypts source into destination (android only)
+   * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes
+   */
+  export function encryptFile(fileCipherOptions: FileCipherOptions): Promise<FileCipherResult> {
+    return new ReactNativeBiometrics().encryptFile(fileCipherOptions)
+  }
+
+  /**
+   * Prompts user with biometrics dialog and decrypts source into destination (android only)
+   * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes
+   */
+  export function decryptFile(fileCipherOptions: FileCipherOptions): Promise<FileCipherResult> {
+    return new ReactNativeBiometrics().decryptFile(fileCipherOptions)
+  }
 }
 
 export default class ReactNativeBiometrics {
@@ -196,9 +510,32 @@ export default class ReactNativeBiometrics {
       })
     }
 
+    /**
+     * Calls listener whenever the result of isSensorAvailable changes, e.g. after the user enrolls
+     * or removes biometrics and returns to the app. Only values already requested through
+     * isSensorAvailable are watched (android only)
+     * @returns {Object} Subscription, call remove() to stop listening
+     */
+    static onBiometricAvailabilityChanged(listener: (event: BiometricAvailabilityChangedEvent) => void): EventSubscription {
+      return DeviceEventEmitter.addListener('onBiometricAvailabilityChanged', listener)
+    }
+
+    /**
+     * Returns an object with object.available and object.biometryType, read synchronously
+     * so it can be used before the first render. Not available with remote JS debugging (android only)
+     * @returns {Object} Object with details about biometrics available
+     */
+    isSensorAvailableSync(): IsSensorAvailableResult {
+      return bridge.isSensorAvailableSync({
+        allowDeviceCredentials: this.allowDeviceCredentials
+      })
+    }
+
     /**
      * Creates a public private key pair,returns promise that resolves to
-     * an object with object.publicKey, which is the public key of the newly generated key pair
+     * an object with object.publicKey, which is the public key of the newly generated key pair.
+     * Set prehash to allow createSignature's prehash mode with this key; such keys are never taken
+     * from the key pool (android only)
      * @returns {Promise<Object>}  Promise that resolves to object with details about the newly generated public key
      */
     createKeys(CreateKeysOptions: CreateKeysOptions): Promise<CreateKeysResult> {
@@ -209,8 +546,54 @@ export default class ReactNativeBiometrics {
       return bridge.getPublicKey(keytag)
     }
 
-    createCsr(CreateCsrOptions: CreateCsrOptions): Promise<CreateCsrResult> {
-      return bridge.createCsr(CreateCsrOptions)
+    /**
+     * Returns an object with object.publicKey, or object.error when the key cannot be read,
+     * read synchronously from the cached keystore state (android only)
+     * @returns {Object} Object with the public key
+     */
+    getPublicKeySync(keytag: string): PublicKeySyncResult {
+      return bridge.getPublicKeySync(keytag)
+    }
+
+    /**
+     * Keeps a number of keys generated ahead of time on a background thread, so createKeys with the
+     * same keytype, keysize and authValidityDuration returns without waiting for key generation.
+     * A size of 0 disables the pool (android only)
+     * @param {Object} configureKeyPoolOptions
+     * @param {number} configureKeyPoolOptions.keytype
+     * @param {number} configureKeyPoolOptions.size
+     * @returns {Promise<Object>}  Promise that resolves to the key pool metrics
+     */
+    configureKeyPool(configureKeyPoolOptions: ConfigureKeyPoolOptions): Promise<KeyPoolMetricsResult> {
+      return bridge.configureKeyPool(configureKeyPoolOptions)
+    }
+
+    /**
+     * Returns promise that resolves to how often createKeys was served from the key pool (android only)
+     * @returns {Promise<Object>}  Promise that resolves to the key pool metrics
+     */
+    getKeyPoolMetrics(): Promise<KeyPoolMetricsResult> {
+      return bridge.getKeyPoolMetrics()
+    }
+
+    /**
+     * Prompts user with biometrics dialog and signs a PKCS#10 certification request for the key of
+     * keytag. The request is built natively and signed with SHA256withRSA or SHA256withECDSA,
+     * matching the key type (EC on android only)
+     * @param {Object} createCsrOptions
+     * @param {string} createCsrOptions.promptMessage
+     * @param {string} createCsrOptions.keytag
+     * @param {string} createCsrOptions.commonName
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.csr,
+     * the base64 body of the PEM encoded request
+     */
+    createCsr(createCsrOptions: CreateCsrOptions): Promise<CreateCsrResult> {
+      createCsrOptions.cancelButtonText = createCsrOptions.cancelButtonText ?? 'Cancel'
+
+      return bridge.createCsr({
+        allowDeviceCredentials: this.allowDeviceCredentials,
+        ...createCsrOptions
+      })
     }
 
     /**
@@ -222,6 +605,15 @@ export default class ReactNativeBiometrics {
       return bridge.biometricKeysExist(keytag)
     }
 
+    /**
+     * Returns an object with object.keysExists = true | false, read synchronously
+     * from the in-memory key index (android only)
+     * @returns {Object} Object with details about the existence of keys
+     */
+    biometricKeysExistSync(keytag: string): BiometricKeysExistResult {
+      return bridge.biometricKeysExistSync(keytag)
+    }
+
     /**
      * Returns promise that resolves to an object with true | false
      * indicating if the keys were properly deleted
@@ -231,6 +623,32 @@ export default class ReactNativeBiometrics {
       return bridge.deleteKeys(keytag)
     }
 
+    /**
+     * Returns promise that resolves to an object with object.keys, the keytags starting with prefix (android only)
+     * @returns {Promise<Object>} Promise that resolves to an object with the matching keytags
+     */
+    listKeys(prefix: string): Promise<ListKeysResult> {
+      return bridge.listKeys(prefix)
+    }
+
+    /**
+     * Deletes the keys of every keytag in one native call, returns promise that resolves to
+     * an object with object.results[keytag] = true | false indicating if the key was deleted (android only)
+     * @returns {Promise<Object>} Promise that resolves to an object with one entry per keytag
+     */
+    deleteKeysBatch(keytags: string[]): Promise<BatchKeysResult> {
+      return bridge.deleteKeysBatch(keytags)
+    }
+
+    /**
+     * Returns promise that resolves to an object with object.results[keytag] = true | false
+     * indicating if a key exists for each keytag, checked in one native call (android only)
+     * @returns {Promise<Object>} Promise that resolves to an object with one entry per keytag
+     */
+    keysExistBatch(keytags: string[]): Promise<BatchKeysResult> {
+      return bridge.keysExistBatch(keytags)
+    }
+
     /**
      * Prompts user with biometrics dialog using the passed in prompt message and
      * returns promise that resolves to an object with object.signature,
@@ -240,6 +658,8 @@ export default class ReactNativeBiometrics {
      * @param {string} createSignatureOptions.payload
      * @param {string} createSignatureOptions.keytag
      * @param {string} createSignatureOptions.type
+     * @param {boolean} createSignatureOptions.prehash digest the payload while the prompt is showing; needs a key
+     * created with prehash, other keys sign the whole payload after the prompt (android only)
      * @returns {Promise<Object>}  Promise that resolves to an object cryptographic signature details
      */
     createSignature(createSignatureOptions: CreateSignatureOptions): Promise<CreateSignatureResult> {
@@ -251,6 +671,62 @@ export default class ReactNativeBiometrics {
       })
     }
 
+    /**
+     * Prompts user with biometrics dialog once and signs every payload, returns promise that resolves
+     * to an object with object.signatures, one entry per payload in input order.
+     * Signing more than one payload requires a key created with authValidityDuration (android only)
+     * @param {Object} createSignaturesOptions
+     * @param {string} createSignaturesOptions.promptMessage
+     * @param {string[]} createSignaturesOptions.payloads
+     * @param {string} createSignaturesOptions.keytag
+     * @param {string} createSignaturesOptions.type
+     * @returns {Promise<Object>}  Promise that resolves to an object with one signature entry per payload
+     */
+    createSignatures(createSignaturesOptions: CreateSignaturesOptions): Promise<CreateSignaturesResult> {
+      createSignaturesOptions.cancelButtonText = createSignaturesOptions.cancelButtonText ?? 'Cancel'
+
+      return bridge.createSignatures({
+        allowDeviceCredentials: this.allowDeviceCredentials,
+        ...createSignaturesOptions
+      })
+    }
+
+    /**
+     * Prompts user with biometrics dialog once and returns promise that resolves to an object with
+     * object.sessionId. The key must have been created with authValidityDuration; until that many
+     * seconds have passed, signWithSession signs without showing a prompt (android only).
+     * On Android 11+ the prompt is biometric-only, as such keys cannot be unlocked with device credentials
+     * @param {Object} openSigningSessionOptions
+     * @param {string} openSigningSessionOptions.promptMessage
+     * @param {string} openSigningSessionOptions.keytag
+     * @returns {Promise<Object>}  Promise that resolves to an object with the session id
+     */
+    openSigningSession(openSigningSessionOptions: OpenSigningSessionOptions): Promise<OpenSigningSessionResult> {
+      openSigningSessionOptions.cancelButtonText = openSigningSessionOptions.cancelButtonText ?? 'Cancel'
+
+      return bridge.openSigningSession({
+        allowDeviceCredentials: this.allowDeviceCredentials,
+        ...openSigningSessionOptions
+      })
+    }
+
+    /**
+     * Signs signWithSessionOptions.payload with an open signing session, without a prompt.
+     * Rejects with "Signing session expired" once the validity window is over (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object cryptographic signature details
+     */
+    signWithSession(signWithSessionOptions: SignWithSessionOptions): Promise<CreateSignatureResult> {
+      return bridge.signWithSession(signWithSessionOptions)
+    }
+
+    /**
+     * Closes the signing session opened with openSigningSession; later signWithSession calls are rejected (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.closed = true | false
+     */
+    closeSigningSession(sessionId: string): Promise<CloseSigningSessionResult> {
+      return bridge.closeSigningSession(sessionId)
+    }
+
     /**
      * Prompts user with biometrics dialog using the passed in prompt message and
      * returns promise that resolves to an object with object.success = true if the user passes,
@@ -269,4 +745,121 @@ export default class ReactNativeBiometrics {
         ...simplePromptOptions
       })
     }
+
+    /**
+     * Cancels the queued or showing prompt started with the given promptId.
+     * Prompts are shown one at a time: createSignature, createSignatures and simplePrompt calls made while
+     * a prompt is visible wait in a queue, identical simplePrompt calls share one prompt, and a request
+     * with a timeout (milliseconds) is rejected with "Prompt timed out" when it expires (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.cancelled = true | false
+     */
+    cancelPrompt(promptId: string): Promise<CancelPromptResult> {
+      return bridge.cancelPrompt(promptId)
+    }
+
+    /**
+     * Loads the keystore, looks up the signature providers and sets up the biometric manager on a
+     * background thread, so the first prompt opens as fast as later ones. Call it early, e.g. on app start,
+     * or pass prewarm = true to the ReactNativeBiometricsPackage constructor (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.warm = true and
+     * object.duration, the warm-up time in milliseconds
+     */
+    prewarm(): Promise<PrewarmResult> {
+      return bridge.prewarm()
+    }
+
+    /**
+     * Returns latency percentiles (milliseconds) of the native operations: keystoreLoad, keyGeneration,
+     * promptQueue, promptShow, authentication (time the user spends on the prompt) and sign, and counts
+     * of errors keyed by "operation:code", e.g. "authentication:7" for onAuthenticationError codes.
+     * Native code can receive the same samples live through ReactNativeBiometrics.setMetricsListener (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.timers, per operation
+     * {count, mean, p50, p95, p99, max}, and object.errors
+     */
+    getMetrics(): Promise<MetricsResult> {
+      return bridge.getMetrics()
+    }
+
+    /**
+     * Clears the collected metrics (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.reset = true
+     */
+    resetMetrics(): Promise<ResetMetricsResult> {
+      return bridge.resetMetrics()
+    }
+
+    /**
+     * Verifies a base64 signature over payload against the key of keytag or against publicKey, a base64
+     * X.509 public key as returned by createKeys. type is one of PayloadTypes and defaults to PayloadTypes.String.
+     * No prompt is shown; parsed public keys are cached (android only)
+     * @param {Object} verifySignatureOptions
+     * @param {string} verifySignatureOptions.keytag
+     * @param {string} verifySignatureOptions.publicKey
+     * @param {string} verifySignatureOptions.payload
+     * @param {string} verifySignatureOptions.signature
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.verified = true | false
+     * and object.error when the signature could not be checked, e.g. for a missing key
+     */
+    verifySignature(verifySignatureOptions: VerifySignatureOptions): Promise<VerifySignatureResult> {
+      return bridge.verifySignature(verifySignatureOptions)
+    }
+
+    /**
+     * Verifies every entry, spread across background cores, off the JS thread (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.results, one
+     * {verified, error} object per entry in input order
+     */
+    verifySignaturesBatch(entries: VerifySignatureOptions[]): Promise<VerifySignaturesBatchResult> {
+      return bridge.verifySignaturesBatch(entries)
+    }
+
+    /**
+     * Creates an AES-256-GCM key in the keystore for keytag, replacing any existing key. The key never
+     * leaves the keystore and every use requires authentication (android only)
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.keyCreated = true
+     */
+    createEncryptionKey(keytag: string): Promise<CreateEncryptionKeyResult> {
+      return bridge.createEncryptionKey(keytag)
+    }
+
+    /**
+     * Prompts user with biometrics dialog, then encrypts the file:// or content:// URI source into destination
+     * with a random per-file key wrapped by the key of keytag. The content is streamed in 64 KiB segments
+     * authenticated independently, so memory use does not depend on the file size (android only)
+     * @param {Object} fileCipherOptions
+     * @param {string} fileCipherOptions.promptMessage
+     * @param {string} fileCipherOptions.keytag
+     * @param {string} fileCipherOptions.source
+     * @param {string} fileCipherOptions.destination
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes,
+     * the number of plaintext bytes, or object.success = false if the user cancels
+     */
+    encryptFile(fileCipherOptions: FileCipherOptions): Promise<FileCipherResult> {
+      fileCipherOptions.cancelButtonText = fileCipherOptions.cancelButtonText ?? 'Cancel'
+
+      return bridge.encryptFile({
+        allowDeviceCredentials: this.allowDeviceCredentials,
+        ...fileCipherOptions
+      })
+    }
+
+    /**
+     * Prompts user with biometrics dialog, then decrypts a file written by encryptFile into destination.
+     * Rejects, and removes destination, if any segment fails authentication (android only)
+     * @param {Object} fileCipherOptions
+     * @param {string} fileCipherOptions.promptMessage
+     * @param {string} fileCipherOptions.keytag
+     * @param {string} fileCipherOptions.source
+     * @param {string} fileCipherOptions.destination
+     * @returns {Promise<Object>}  Promise that resolves to an object with object.success and object.bytes,
+     * the number of plaintext bytes, or object.success = false if the user cancels
+     */
+    decryptFile(fileCipherOptions: FileCipherOptions): Promise<FileCipherResult> {
+      fileCipherOptions.cancelButtonText = fileCipherOptions.cancelButtonText ?? 'Cancel'
+
+      return bridge.decryptFile({
+        allowDeviceCredentials: this.allowDeviceCredentials,
+        ...fileCipherOptions
+      })
+    }
   }